@@ -0,0 +1,46 @@
+package com.aman.booking.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+final class EndpointStats {
+
+    private final String endpoint;
+    private final Histogram latencyMicros = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void record(long latencyNanos, boolean success) {
+        latencyMicros.recordValue(Math.max(1, latencyNanos / 1000));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    void recordDropped(long timeoutNanos) {
+        record(timeoutNanos, false);
+        dropped.increment();
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    Histogram histogram() {
+        return latencyMicros;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
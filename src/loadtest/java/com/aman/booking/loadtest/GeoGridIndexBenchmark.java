@@ -0,0 +1,89 @@
+package com.aman.booking.loadtest;
+
+import com.aman.booking.util.GeoGridIndex;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measures radius searches against the in-memory {@link GeoGridIndex} alone, without HTTP or the database. Points
+ * are spread uniformly over India and every query uses a random origin inside the same area, so the numbers are
+ * for a dense index; the run exits with status 1 when {@code --maxP99Micros} is given and exceeded.
+ *
+ * <pre>
+ * mvn -Ploadtest compile exec:java -Dloadtest.main=com.aman.booking.loadtest.GeoGridIndexBenchmark -Dexec.args="--points=1000000"
+ * </pre>
+ */
+public class GeoGridIndexBenchmark {
+
+    private static final double MIN_LATITUDE = 8;
+    private static final double MAX_LATITUDE = 35;
+    private static final double MIN_LONGITUDE = 68;
+    private static final double MAX_LONGITUDE = 97;
+    private static final String[] TRUCK_TYPES = {"Open", "Container", "Trailer", "Flatbed", "Tanker"};
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>(Map.of("points", "1000000", "queries", "20000", "warmupQueries", "20000",
+                "radiusKm", "50", "limit", "50", "cellDegrees", "0.25", "seed", "42"));
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        int points = Integer.parseInt(options.get("points"));
+        int queries = Integer.parseInt(options.get("queries"));
+        int warmupQueries = Integer.parseInt(options.get("warmupQueries"));
+        double radiusKm = Double.parseDouble(options.get("radiusKm"));
+        int limit = Integer.parseInt(options.get("limit"));
+        double cellDegrees = Double.parseDouble(options.get("cellDegrees"));
+        Random random = new Random(Long.parseLong(options.get("seed")));
+
+        GeoGridIndex<Integer> index = new GeoGridIndex<>(cellDegrees);
+        long loadStart = System.nanoTime();
+        for (int i = 0; i < points; i++) {
+            index.put(i, latitude(random), longitude(random), TRUCK_TYPES[random.nextInt(TRUCK_TYPES.length)]);
+        }
+        System.out.printf("Indexed %d points in %d ms (cell %.2f degrees)%n", points, (System.nanoTime() - loadStart) / 1_000_000, cellDegrees);
+
+        long hits = 0;
+        for (int i = 0; i < warmupQueries; i++) {
+            hits += index.withinRadius(latitude(random), longitude(random), radiusKm, "Open"::equals, limit).size();
+        }
+        long[] nanos = new long[queries];
+        for (int i = 0; i < queries; i++) {
+            double latitude = latitude(random);
+            double longitude = longitude(random);
+            long start = System.nanoTime();
+            hits += index.withinRadius(latitude, longitude, radiusKm, "Open"::equals, limit).size();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        double p50 = micros(nanos, 0.5);
+        double p99 = micros(nanos, 0.99);
+        System.out.printf("%d queries of %.0f km, limit %d: p50 %.1f us, p90 %.1f us, p99 %.1f us, max %.1f us (%d hits)%n",
+                queries, radiusKm, limit, p50, micros(nanos, 0.9), p99, nanos[nanos.length - 1] / 1000.0, hits);
+        String maxP99 = options.get("maxP99Micros");
+        if (maxP99 != null && p99 > Double.parseDouble(maxP99)) {
+            System.out.println("p99 exceeded " + maxP99 + " us");
+            System.exit(1);
+        }
+    }
+
+    private static double latitude(Random random) {
+        return MIN_LATITUDE + random.nextDouble() * (MAX_LATITUDE - MIN_LATITUDE);
+    }
+
+    private static double longitude(Random random) {
+        return MIN_LONGITUDE + random.nextDouble() * (MAX_LONGITUDE - MIN_LONGITUDE);
+    }
+
+    private static double micros(long[] sortedNanos, double quantile) {
+        int rank = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(rank, 0)] / 1000.0;
+    }
+}
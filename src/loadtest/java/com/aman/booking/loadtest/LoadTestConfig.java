@@ -0,0 +1,78 @@
+package com.aman.booking.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+final class LoadTestConfig {
+
+    double rate = 50;
+    Duration duration = Duration.ofSeconds(60);
+    Duration warmup = Duration.ofSeconds(10);
+    int seedLoads = 200;
+    int maxInFlight = 1000;
+    long seed = 42;
+    Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+    Path outputDir = Paths.get("target", "loadtest");
+    Path baseline;
+    double tolerance = 0.10;
+    String targetUrl;
+    int shards = 1;
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig();
+        for (Scenario scenario : Scenario.values()) {
+            config.mix.put(scenario, scenario.defaultWeight());
+        }
+        options.forEach((name, value) -> {
+            switch (name) {
+                case "rate" -> config.rate = Double.parseDouble(value);
+                case "duration" -> config.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "warmup" -> config.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "seedLoads" -> config.seedLoads = Integer.parseInt(value);
+                case "maxInFlight" -> config.maxInFlight = Integer.parseInt(value);
+                case "seed" -> config.seed = Long.parseLong(value);
+                case "output" -> config.outputDir = Paths.get(value);
+                case "baseline" -> config.baseline = Paths.get(value);
+                case "tolerance" -> config.tolerance = Double.parseDouble(value);
+                case "target" -> config.targetUrl = value;
+                case "mix" -> config.parseMix(value);
+                case "shards" -> config.shards = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        });
+        if (config.rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (config.shards < 1) {
+            throw new IllegalArgumentException("--shards must be at least 1");
+        }
+        return config;
+    }
+
+    private void parseMix(String value) {
+        mix.replaceAll((scenario, weight) -> 0);
+        for (String part : value.split(",")) {
+            String[] entry = part.split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Expected scenario:weight in --mix but got: " + part);
+            }
+            mix.put(Scenario.fromKey(entry[0].trim()), Integer.parseInt(entry[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("--mix must contain at least one positive weight");
+        }
+    }
+}
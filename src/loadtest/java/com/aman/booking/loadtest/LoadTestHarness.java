@@ -0,0 +1,77 @@
+package com.aman.booking.loadtest;
+
+import com.aman.booking.LoadsAndBookingApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Entry point for the load test. Without {@code --target} it starts the application on a random port against
+ * an in-memory H2 database, drives the configured scenario mix, writes a JSON report plus HdrHistogram
+ * percentile distributions, and optionally fails when latency regressed against a baseline report.
+ *
+ * <pre>
+ * mvn -Ploadtest compile exec:java -Dexec.args="--rate=200 --duration=120 --baseline=target/loadtest/baseline.json"
+ * </pre>
+ */
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        ConfigurableApplicationContext context = null;
+        String baseUrl = config.targetUrl;
+        if (baseUrl == null) {
+            context = startEmbeddedApplication(config);
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        int exitCode = 0;
+        try {
+            System.out.printf("Running load test against %s at %.1f req/s for %ds (warmup %ds)%n", baseUrl, config.rate,
+                    config.duration.toSeconds(), config.warmup.toSeconds());
+            LoadTestReport report = new LoadTestRunner(config, baseUrl).run();
+            Path written = report.write(config.outputDir);
+            report.print(System.out);
+            System.out.println("Report written to " + written.toAbsolutePath());
+            if (config.baseline != null && !report.compareTo(config.baseline, config.tolerance, System.out)) {
+                System.out.println("Latency regressed beyond " + Math.round(config.tolerance * 100) + "% of baseline");
+                exitCode = 1;
+            }
+        } finally {
+            if (context != null) {
+                SpringApplication.exit(context);
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static ConfigurableApplicationContext startEmbeddedApplication(LoadTestConfig config) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + h2Url(0),
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.devtools.restart.enabled=false",
+                "--logging.file.name=",
+                "--logging.level.com.aman.booking=WARN",
+                "--ingestion.work-dir=" + config.outputDir.resolve("imports"),
+                "--audit.dir=" + config.outputDir.resolve("audit")));
+        if (config.shards > 1) {
+            // one in-memory database per extra shard
+            args.add("--sharding.extra-urls=" + IntStream.range(1, config.shards).mapToObj(LoadTestHarness::h2Url).collect(Collectors.joining(",")));
+        }
+        return new SpringApplicationBuilder(LoadsAndBookingApplication.class).run(args.toArray(new String[0]));
+    }
+
+    private static String h2Url(int shard) {
+        return "jdbc:h2:mem:loadtest" + (shard == 0 ? "" : shard) + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+}
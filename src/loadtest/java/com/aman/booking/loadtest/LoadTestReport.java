@@ -0,0 +1,136 @@
+package com.aman.booking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+
+final class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final double NOISE_FLOOR_MS = 1.0;
+    private static final double ERROR_RATE_FLOOR = 0.001;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Map<String, EndpointStats> stats;
+    private final ObjectNode json;
+
+    LoadTestReport(Instant startedAt, LoadTestConfig config, Map<String, EndpointStats> stats, long dropped) {
+        this.stats = stats;
+        this.json = objectMapper.createObjectNode();
+        json.put("startedAt", startedAt.toString());
+        json.put("rate", config.rate);
+        json.put("durationSeconds", config.duration.toSeconds());
+        json.put("warmupSeconds", config.warmup.toSeconds());
+        ObjectNode mix = json.putObject("mix");
+        config.mix.forEach((scenario, weight) -> mix.put(scenario.key(), weight));
+        json.put("maxInFlight", config.maxInFlight);
+        json.put("dropped", dropped);
+
+        ObjectNode endpoints = json.putObject("endpoints");
+        stats.forEach((endpoint, endpointStats) -> {
+            Histogram histogram = endpointStats.histogram();
+            ObjectNode node = endpoints.putObject(endpoint);
+            node.put("count", histogram.getTotalCount());
+            node.put("errors", endpointStats.errors());
+            node.put("dropped", endpointStats.dropped());
+            node.put("errorRate", histogram.getTotalCount() == 0 ? 0 : endpointStats.errors() / (double) histogram.getTotalCount());
+            node.put("throughput", histogram.getTotalCount() / (double) Math.max(1, config.duration.toSeconds()));
+            node.put("meanMs", histogram.getMean() / 1000.0);
+            for (double percentile : PERCENTILES) {
+                node.put(percentileKey(percentile), histogram.getValueAtPercentile(percentile) / 1000.0);
+            }
+            node.put("maxMs", histogram.getMaxValue() / 1000.0);
+        });
+    }
+
+    Path write(Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        String name = "report-" + json.get("startedAt").asText().replace(':', '-');
+        Path report = outputDir.resolve(name + ".json");
+        objectMapper.writeValue(report.toFile(), json);
+        Files.copy(report, outputDir.resolve("latest.json"), StandardCopyOption.REPLACE_EXISTING);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(outputDir.resolve(name + ".hgrm")))) {
+            stats.forEach((endpoint, endpointStats) -> {
+                out.println("# " + endpoint + " (ms)");
+                endpointStats.histogram().outputPercentileDistribution(out, 1000.0);
+                out.println();
+            });
+        }
+        return report;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-22s %8s %7s %9s %9s %9s %9s %9s%n", "endpoint", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Iterator<Map.Entry<String, JsonNode>> endpoints = json.get("endpoints").fields();
+        while (endpoints.hasNext()) {
+            Map.Entry<String, JsonNode> entry = endpoints.next();
+            JsonNode node = entry.getValue();
+            out.printf("%-22s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(), node.get("count").asLong(), node.get("errors").asLong(),
+                    node.get("p50Ms").asDouble(), node.get("p90Ms").asDouble(), node.get("p99Ms").asDouble(), node.get("p99_9Ms").asDouble(), node.get("maxMs").asDouble());
+        }
+        out.println("dropped (max in-flight reached, counted as errors at the request timeout): " + json.get("dropped").asLong());
+    }
+
+    /**
+     * Compares p50 and p99 of every endpoint against a previous report and returns false if any of them got
+     * slower by more than the tolerance, ignoring differences below one millisecond, if an endpoint's error rate
+     * rose by more than {@value #ERROR_RATE_FLOOR}, or if any arrival was dropped because the generator hit
+     * {@code --maxInFlight}.
+     */
+    boolean compareTo(Path baselineFile, double tolerance, PrintStream out) throws IOException {
+        JsonNode baseline = objectMapper.readTree(baselineFile.toFile()).get("endpoints");
+        boolean withinTolerance = true;
+        Iterator<Map.Entry<String, JsonNode>> endpoints = json.get("endpoints").fields();
+        out.printf("%-22s %-6s %10s %10s %8s%n", "endpoint", "metric", "baseline", "current", "change");
+        while (endpoints.hasNext()) {
+            Map.Entry<String, JsonNode> entry = endpoints.next();
+            JsonNode previous = baseline.get(entry.getKey());
+            if (previous == null) {
+                out.printf("%-22s not in baseline%n", entry.getKey());
+                continue;
+            }
+            for (String metric : new String[]{"p50Ms", "p99Ms"}) {
+                double before = previous.get(metric).asDouble();
+                double after = entry.getValue().get(metric).asDouble();
+                double change = before == 0 ? 0 : (after - before) / before;
+                boolean regressed = change > tolerance && after - before > NOISE_FLOOR_MS;
+                withinTolerance &= !regressed;
+                out.printf("%-22s %-6s %10.2f %10.2f %+7.1f%%%s%n", entry.getKey(), metric.replace("Ms", ""), before, after, change * 100,
+                        regressed ? "  REGRESSION" : "");
+            }
+            double errorsBefore = errorRate(previous);
+            double errorsAfter = errorRate(entry.getValue());
+            boolean moreErrors = errorsAfter - errorsBefore > ERROR_RATE_FLOOR;
+            withinTolerance &= !moreErrors;
+            out.printf("%-22s %-6s %9.2f%% %9.2f%%%s%n", entry.getKey(), "errors", errorsBefore * 100, errorsAfter * 100,
+                    moreErrors ? "  REGRESSION" : "");
+        }
+        long dropped = json.get("dropped").asLong();
+        if (dropped > 0) {
+            out.printf("%d arrivals were dropped at --maxInFlight=%d, so the offered load was not sustained%n", dropped, json.get("maxInFlight").asInt());
+            withinTolerance = false;
+        }
+        return withinTolerance;
+    }
+
+    private static double errorRate(JsonNode endpoint) {
+        long count = endpoint.path("count").asLong();
+        return count == 0 ? 0 : endpoint.path("errors").asLong() / (double) count;
+    }
+
+        private static String percentileKey(double percentile) {
+        String value = percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile).replace('.', '_');
+        return "p" + value + "Ms";
+    }
+}
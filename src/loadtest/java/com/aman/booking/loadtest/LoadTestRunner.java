@@ -0,0 +1,273 @@
+package com.aman.booking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Drives the configured scenario mix with an open arrival model: requests are started on a Poisson schedule
+ * regardless of how long earlier requests take, and latency is measured from the intended start time so that
+ * a stalled server shows up as queueing delay instead of silently lowering the offered rate.
+ */
+final class LoadTestRunner {
+
+    private static final String[] TRUCK_TYPES = {"Open", "Container", "Trailer", "Tanker"};
+    private static final String[] PRODUCT_TYPES = {"Electronics", "Steel", "Grain", "Textiles", "Chemicals"};
+    private static final String[] CITIES = {"Delhi", "Mumbai", "Chennai", "Kolkata", "Bengaluru", "Pune", "Jaipur", "Ahmedabad"};
+    private static final int SHIPPERS = 50;
+    private static final int TRANSPORTERS = 200;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final Queue<String> openLoads = new ConcurrentLinkedQueue<>();
+    private final Queue<BookingRef> pendingBookings = new ConcurrentLinkedQueue<>();
+    private final Queue<BookingRef> respondedBookings = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final Scenario[] schedule;
+
+    LoadTestRunner(LoadTestConfig config, String baseUrl) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        List<Scenario> weighted = new ArrayList<>();
+        config.mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(scenario);
+            }
+        });
+        this.schedule = weighted.toArray(new Scenario[0]);
+    }
+
+    LoadTestReport run() throws InterruptedException {
+        seed();
+        SplittableRandom random = new SplittableRandom(config.seed);
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup.toNanos();
+        long end = measureFrom + config.duration.toNanos();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate;
+        Instant startedAt = Instant.now();
+
+        long intendedStart = start;
+        while (intendedStart < end) {
+            long now;
+            while ((now = System.nanoTime()) < intendedStart) {
+                LockSupport.parkNanos(intendedStart - now);
+            }
+            boolean measured = intendedStart >= measureFrom;
+            Scenario scenario = schedule[random.nextInt(schedule.length)];
+            if (inFlight.get() >= config.maxInFlight) {
+                if (measured) {
+                    // a request that was never sent would at best have timed out, so it counts as a failure at the
+                    // timeout instead of vanishing from the percentiles
+                    dropped.increment();
+                    stats.computeIfAbsent(scenario.endpoint(), EndpointStats::new).recordDropped(REQUEST_TIMEOUT.toNanos());
+                }
+            } else {
+                execute(scenario, intendedStart, measured);
+            }
+            intendedStart += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        return new LoadTestReport(startedAt, config, new TreeMap<>(stats), dropped.sum());
+    }
+
+    private void seed() {
+        for (int i = 0; i < config.seedLoads; i++) {
+            execute(Scenario.CREATE_LOAD, System.nanoTime(), false);
+            while (inFlight.get() > 16) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+        while (inFlight.get() > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    private void execute(Scenario scenario, long intendedStart, boolean measured) {
+        switch (scenario) {
+            case CREATE_LOAD -> createLoad(intendedStart, measured);
+            case BROWSE_LOADS -> browseLoads(intendedStart, measured);
+            case CREATE_BOOKING -> {
+                String loadId = openLoads.poll();
+                if (loadId == null) {
+                    createLoad(intendedStart, measured);
+                } else {
+                    createBooking(loadId, intendedStart, measured);
+                }
+            }
+            case RESPOND_BOOKING -> {
+                BookingRef booking = pendingBookings.poll();
+                if (booking == null) {
+                    createLoad(intendedStart, measured);
+                } else {
+                    respondBooking(booking, intendedStart, measured);
+                }
+            }
+            case DELETE_BOOKING -> {
+                BookingRef booking = respondedBookings.poll();
+                if (booking == null) {
+                    booking = pendingBookings.poll();
+                }
+                if (booking == null) {
+                    createLoad(intendedStart, measured);
+                } else {
+                    send(Scenario.DELETE_BOOKING.endpoint(), HttpRequest.newBuilder(uri("/booking/" + booking.id)).DELETE(), intendedStart, measured, body -> {
+                    });
+                }
+            }
+            case DELETE_LOAD -> {
+                String loadId = openLoads.poll();
+                if (loadId == null) {
+                    createLoad(intendedStart, measured);
+                } else {
+                    send(Scenario.DELETE_LOAD.endpoint(), HttpRequest.newBuilder(uri("/load/" + loadId)).DELETE(), intendedStart, measured, body -> {
+                    });
+                }
+            }
+        }
+    }
+
+    private void createLoad(long intendedStart, boolean measured) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.currentTimeMillis();
+        String loadingPoint = pick(CITIES);
+        String unloadingPoint = pick(CITIES);
+        ObjectNode facility = objectMapper.createObjectNode()
+                .put("loadingPoint", loadingPoint)
+                .put("unloadingPoint", unloadingPoint)
+                .put("loadingDate", now + TimeUnit.DAYS.toMillis(random.nextInt(1, 10)))
+                .put("unloadingDate", now + TimeUnit.DAYS.toMillis(random.nextInt(10, 20)));
+        ObjectNode load = objectMapper.createObjectNode()
+                .put("shipperId", "SHIPPER" + random.nextInt(SHIPPERS))
+                .put("productType", pick(PRODUCT_TYPES))
+                .put("truckType", pick(TRUCK_TYPES))
+                .put("noOfTrucks", random.nextInt(1, 5))
+                .put("weight", random.nextInt(500, 20000))
+                .put("comment", "load test")
+                .put("datePosted", now);
+        load.set("facility", facility);
+        send(Scenario.CREATE_LOAD.endpoint(), json(uri("/load")).POST(HttpRequest.BodyPublishers.ofString(load.toString())), intendedStart, measured,
+                body -> openLoads.add(body.get("id").asText()));
+    }
+
+    private void browseLoads(long intendedStart, boolean measured) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String query = switch (random.nextInt(4)) {
+            case 0 -> "?status=POSTED&truckType=" + pick(TRUCK_TYPES);
+            case 1 -> "?shipperId=SHIPPER" + random.nextInt(SHIPPERS);
+            case 2 -> "?loadingPoint=" + pick(CITIES) + "&unloadingPoint=" + pick(CITIES);
+            default -> "";
+        };
+        send(Scenario.BROWSE_LOADS.endpoint(), HttpRequest.newBuilder(uri("/load" + query)).GET(), intendedStart, measured, body -> {
+        });
+    }
+
+    private void createBooking(String loadId, long intendedStart, boolean measured) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String transporterId = "TRANS" + random.nextInt(TRANSPORTERS);
+        double rate = random.nextInt(10_000, 60_000);
+        ObjectNode booking = objectMapper.createObjectNode()
+                .put("loadId", loadId)
+                .put("transporterId", transporterId)
+                .put("proposedRate", rate)
+                .put("comment", "load test bid")
+                .put("status", "PENDING")
+                .put("requestedAt", System.currentTimeMillis());
+        send(Scenario.CREATE_BOOKING.endpoint(), json(uri("/booking")).POST(HttpRequest.BodyPublishers.ofString(booking.toString())), intendedStart, measured,
+                body -> pendingBookings.add(new BookingRef(body.get("id").asText(), loadId, transporterId, rate)));
+    }
+
+    private void respondBooking(BookingRef booking, long intendedStart, boolean measured) {
+        ObjectNode update = objectMapper.createObjectNode()
+                .put("transporterId", booking.transporterId)
+                .put("proposedRate", booking.rate)
+                .put("status", ThreadLocalRandom.current().nextBoolean() ? "ACCEPTED" : "REJECTED")
+                .put("requestedAt", System.currentTimeMillis());
+        update.putObject("load").put("id", booking.loadId);
+        send(Scenario.RESPOND_BOOKING.endpoint(), json(uri("/booking/" + booking.id)).PUT(HttpRequest.BodyPublishers.ofString(update.toString())), intendedStart, measured,
+                body -> respondedBookings.add(booking));
+    }
+
+    private void send(String endpoint, HttpRequest.Builder request, long intendedStart, boolean measured, Consumer<JsonNode> onSuccess) {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, EndpointStats::new);
+        inFlight.incrementAndGet();
+        CompletableFuture<HttpResponse<String>> response = client.sendAsync(request.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+        response.whenComplete((result, error) -> {
+            long latency = System.nanoTime() - intendedStart;
+            boolean success = error == null && result.statusCode() < 400;
+            if (measured) {
+                endpointStats.record(latency, success);
+            }
+            try {
+                if (success && !result.body().isEmpty()) {
+                    onSuccess.accept(objectMapper.readTree(result.body()));
+                } else if (success) {
+                    onSuccess.accept(null);
+                }
+            } catch (Exception e) {
+                // the response was already timed; a body we cannot parse only affects follow-up scenarios
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    private HttpRequest.Builder json(URI uri) {
+        return HttpRequest.newBuilder(uri).header("Content-Type", "application/json");
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static String pick(String[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+
+    private static final class BookingRef {
+        private final String id;
+        private final String loadId;
+        private final String transporterId;
+        private final double rate;
+
+        private BookingRef(String id, String loadId, String transporterId, double rate) {
+            this.id = id;
+            this.loadId = loadId;
+            this.transporterId = transporterId;
+            this.rate = rate;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.aman.booking.loadtest;
+
+enum Scenario {
+    CREATE_LOAD("createLoad", "POST /load", 10),
+    BROWSE_LOADS("browseLoads", "GET /load", 50),
+    CREATE_BOOKING("createBooking", "POST /booking", 20),
+    RESPOND_BOOKING("respondBooking", "PUT /booking/{id}", 10),
+    DELETE_BOOKING("deleteBooking", "DELETE /booking/{id}", 5),
+    DELETE_LOAD("deleteLoad", "DELETE /load/{id}", 5);
+
+    private final String key;
+    private final String endpoint;
+    private final int defaultWeight;
+
+    Scenario(String key, String endpoint, int defaultWeight) {
+        this.key = key;
+        this.endpoint = endpoint;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String key() {
+        return key;
+    }
+
+    /**
+     * The endpoint the scenario normally calls; it falls back to creating a load when there is nothing to act on.
+     */
+    String endpoint() {
+        return endpoint;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    static Scenario fromKey(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equalsIgnoreCase(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + key);
+    }
+}
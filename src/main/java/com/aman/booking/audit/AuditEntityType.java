@@ -0,0 +1,25 @@
+package com.aman.booking.audit;
+
+public enum AuditEntityType {
+    LOAD(1),
+    BOOKING(2);
+
+    private final byte code;
+
+    AuditEntityType(int code) {
+        this.code = (byte) code;
+    }
+
+    byte code() {
+        return code;
+    }
+
+    static AuditEntityType fromCode(byte code) {
+        for (AuditEntityType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown audit entity type code: " + code);
+    }
+}
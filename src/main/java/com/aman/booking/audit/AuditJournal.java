@@ -0,0 +1,427 @@
+package com.aman.booking.audit;
+
+import com.aman.booking.dto.AuditEntry;
+import com.aman.booking.util.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of load and booking state changes, written to fixed-size memory-mapped segment files.
+ * <p>
+ * A record is {@code length, entity type, operation, entity id, timestamp, rate, old status, new status, actor,
+ * crc32}. Appends are a copy into the mapped segment under a short lock; pages are forced to disk by a scheduled
+ * flush, so a crash can lose at most one flush interval of records.
+ * <p>
+ * Only the segment being written is mapped and indexed in memory. When it is full it is forced, an index file of
+ * its records sorted by entity id is written next to it, and the mapping is dropped. History reads binary-search
+ * the index file of each sealed segment and read the matching records from disk. On startup sealed segments without
+ * an index file are scanned to write one, and the last segment is scanned to rebuild the in-memory index, stopping
+ * at the first empty or corrupt record.
+ */
+@Component
+public class AuditJournal {
+    private static final Logger logger = LoggerFactory.getLogger(AuditJournal.class);
+
+    public static final String ACTOR_HEADER = "X-Actor";
+
+    private static final String SEGMENT_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final int FIXED_BYTES = 4 + 1 + 1 + 16 + 8 + 8 + 3 + 4;
+    private static final int MAX_STRING_BYTES = 255;
+    private static final int INDEX_ENTRY_BYTES = 8 + 8 + 4;
+
+    @Value("${audit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${audit.dir:./audit}")
+    private String dir;
+
+    @Value("${audit.segment-size-bytes:16777216}")
+    private int segmentSizeBytes;
+
+    private final List<Path> sealedSegments = new ArrayList<>();
+    private final Map<UUID, List<Integer>> currentIndex = new HashMap<>();
+
+    private Path directory;
+    private Path currentFile;
+    private MappedByteBuffer current;
+    private int nextSegmentNumber = 1;
+    private int writePosition;
+    private boolean dirty;
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        directory = Paths.get(dir);
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                    && file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().collect(Collectors.toList());
+        }
+        long records = 0;
+        for (int i = 0; i < files.size() - 1; i++) {
+            Path file = files.get(i);
+            Path indexFile = indexFile(file);
+            if (!Files.exists(indexFile)) {
+                logger.info("Writing missing audit index for segment {}", file.getFileName());
+                writeIndex(indexFile, scanSealed(file));
+            }
+            sealedSegments.add(file);
+            records += Files.size(indexFile) / INDEX_ENTRY_BYTES;
+        }
+        if (files.isEmpty()) {
+            roll();
+        } else {
+            currentFile = files.get(files.size() - 1);
+            current = map(currentFile, Files.size(currentFile));
+            writePosition = scan(current, currentIndex);
+            nextSegmentNumber = segmentNumber(currentFile) + 1;
+            records += currentIndex.values().stream().mapToInt(List::size).sum();
+            if (writePosition + 4 <= current.capacity() && current.getInt(writePosition) != 0) {
+                logger.warn("Discarding torn audit record at offset {} of the last segment", writePosition);
+                for (int i = writePosition; i < current.capacity(); i++) {
+                    current.put(i, (byte) 0);
+                }
+                current.force();
+            }
+        }
+        logger.info("Audit journal opened in {} - {} segments, {} records", directory.toAbsolutePath(), sealedSegments.size() + 1, records);
+    }
+
+    /**
+     * Records a change made by the caller of the current request, or by "system" outside a request. The record is
+     * appended once the surrounding transaction commits.
+     */
+    public void record(AuditEntityType type, UUID entityId, AuditOperation operation, String oldStatus, String newStatus, Double rate) {
+        record(type, entityId, operation, oldStatus, newStatus, rate, currentActor());
+    }
+
+    public void record(AuditEntityType type, UUID entityId, AuditOperation operation, String oldStatus, String newStatus, Double rate, String actor) {
+        if (!enabled || entityId == null) {
+            return;
+        }
+        byte[] record = encode(type, entityId, operation, oldStatus, newStatus, rate, actor, System.currentTimeMillis());
+        TransactionCallbacks.afterCommit(() -> append(entityId, record));
+    }
+
+    public List<AuditEntry> getHistory(AuditEntityType type, UUID entityId) {
+        if (!enabled) {
+            return List.of();
+        }
+        List<Path> sealed;
+        List<Integer> currentPositions;
+        ByteBuffer currentSegment;
+        synchronized (this) {
+            sealed = new ArrayList<>(sealedSegments);
+            currentPositions = new ArrayList<>(currentIndex.getOrDefault(entityId, List.of()));
+            currentSegment = current;
+        }
+        List<AuditEntry> history = new ArrayList<>();
+        try {
+            for (Path segment : sealed) {
+                readSealed(segment, entityId, history);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read audit history of " + entityId, e);
+        }
+        for (int position : currentPositions) {
+            history.add(decode(currentSegment, position));
+        }
+        history.removeIf(entry -> !entry.getEntityType().equals(type.name()));
+        return history;
+    }
+
+    @Scheduled(fixedDelayString = "${audit.flush-interval-ms:1000}")
+    public void flush() {
+        MappedByteBuffer toForce;
+        synchronized (this) {
+            if (!dirty || current == null) {
+                return;
+            }
+            dirty = false;
+            toForce = current;
+        }
+        // msync outside the lock so appends never wait on the disk
+        toForce.force();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (enabled && current != null) {
+            flush();
+        }
+    }
+
+    private synchronized void append(UUID entityId, byte[] record) {
+        try {
+            if (writePosition + record.length > current.capacity()) {
+                seal();
+                roll();
+            }
+            current.put(writePosition, record);
+            currentIndex.computeIfAbsent(entityId, id -> new ArrayList<>(2)).add(writePosition);
+            writePosition += record.length;
+            dirty = true;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to append audit record for entity {}", entityId, e);
+        }
+    }
+
+    private void seal() throws IOException {
+        current.force();
+        List<long[]> entries = new ArrayList<>();
+        currentIndex.forEach((entityId, positions) -> positions.forEach(position ->
+                entries.add(new long[]{entityId.getMostSignificantBits(), entityId.getLeastSignificantBits(), position})));
+        writeIndex(indexFile(currentFile), entries);
+        sealedSegments.add(currentFile);
+        currentIndex.clear();
+        // dropping the last reference lets the mapping be released
+        current = null;
+    }
+
+    private void roll() throws IOException {
+        Path file = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, nextSegmentNumber++, SEGMENT_SUFFIX));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(segmentSizeBytes);
+        }
+        currentFile = file;
+        current = map(file, segmentSizeBytes);
+        writePosition = 0;
+        logger.info("Audit journal rolled to segment {}", file.getFileName());
+    }
+
+    private static int scan(ByteBuffer buffer, Map<UUID, List<Integer>> index) {
+        int position = 0;
+        while (position + 4 <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length < FIXED_BYTES || position + length > buffer.capacity() || !checksumMatches(buffer, position, length)) {
+                break;
+            }
+            UUID entityId = new UUID(buffer.getLong(position + 6), buffer.getLong(position + 14));
+            index.computeIfAbsent(entityId, id -> new ArrayList<>(2)).add(position);
+            position += length;
+        }
+        return position;
+    }
+
+    private static List<long[]> scanSealed(Path file) throws IOException {
+        List<long[]> entries = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = 0;
+            ByteBuffer record;
+            while ((record = readRecord(channel, position)) != null) {
+                entries.add(new long[]{record.getLong(6), record.getLong(14), position});
+                position += record.capacity();
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Writes the entries sorted by entity id and position, through a temporary file so that an index file is
+     * either complete or missing.
+     */
+    private static void writeIndex(Path indexFile, List<long[]> entries) throws IOException {
+        entries.sort(Comparator.<long[]>comparingLong(entry -> entry[0]).thenComparingLong(entry -> entry[1]).thenComparingLong(entry -> entry[2]));
+        ByteBuffer buffer = ByteBuffer.allocate(entries.size() * INDEX_ENTRY_BYTES);
+        for (long[] entry : entries) {
+            buffer.putLong(entry[0]).putLong(entry[1]).putInt((int) entry[2]);
+        }
+        Path temporary = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        Files.write(temporary, buffer.array());
+        Files.move(temporary, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void readSealed(Path segment, UUID entityId, List<AuditEntry> history) throws IOException {
+        List<Integer> positions = new ArrayList<>();
+        try (FileChannel index = FileChannel.open(indexFile(segment), StandardOpenOption.READ)) {
+            ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+            long low = 0;
+            long high = index.size() / INDEX_ENTRY_BYTES;
+            // lower bound of the entity id
+            while (low < high) {
+                long middle = (low + high) >>> 1;
+                readFully(index, entry.clear(), middle * INDEX_ENTRY_BYTES);
+                if (compare(entry.getLong(0), entry.getLong(8), entityId) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            for (long i = low; i < index.size() / INDEX_ENTRY_BYTES; i++) {
+                readFully(index, entry.clear(), i * INDEX_ENTRY_BYTES);
+                if (compare(entry.getLong(0), entry.getLong(8), entityId) != 0) {
+                    break;
+                }
+                positions.add(entry.getInt(16));
+            }
+        }
+        if (positions.isEmpty()) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            for (int position : positions) {
+                ByteBuffer record = readRecord(channel, position);
+                if (record != null) {
+                    history.add(decode(record, 0));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the record at the position, or returns null at the end of the written records or at a corrupt record.
+     */
+    private static ByteBuffer readRecord(FileChannel channel, long position) throws IOException {
+        if (position + 4 > channel.size()) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(4);
+        readFully(channel, header, position);
+        int length = header.getInt(0);
+        if (length < FIXED_BYTES || position + length > channel.size()) {
+            return null;
+        }
+        ByteBuffer record = ByteBuffer.allocate(length);
+        readFully(channel, record, position);
+        return checksumMatches(record, 0, length) ? record : null;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of " + channel);
+            }
+        }
+    }
+
+    private static int compare(long mostSignificantBits, long leastSignificantBits, UUID entityId) {
+        int result = Long.compare(mostSignificantBits, entityId.getMostSignificantBits());
+        return result != 0 ? result : Long.compare(leastSignificantBits, entityId.getLeastSignificantBits());
+    }
+
+    private static boolean checksumMatches(ByteBuffer buffer, int position, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(position + 4, length - 8));
+        return (int) crc.getValue() == buffer.getInt(position + length - 4);
+    }
+
+    private static byte[] encode(AuditEntityType type, UUID entityId, AuditOperation operation, String oldStatus, String newStatus,
+                                 Double rate, String actor, long timestamp) {
+        byte[] oldBytes = toBytes(oldStatus);
+        byte[] newBytes = toBytes(newStatus);
+        byte[] actorBytes = toBytes(actor);
+        ByteBuffer buffer = ByteBuffer.allocate(FIXED_BYTES + oldBytes.length + newBytes.length + actorBytes.length);
+        buffer.putInt(buffer.capacity());
+        buffer.put(type.code());
+        buffer.put(operation.code());
+        buffer.putLong(entityId.getMostSignificantBits());
+        buffer.putLong(entityId.getLeastSignificantBits());
+        buffer.putLong(timestamp);
+        buffer.putDouble(rate == null ? Double.NaN : rate);
+        buffer.put((byte) oldBytes.length).put(oldBytes);
+        buffer.put((byte) newBytes.length).put(newBytes);
+        buffer.put((byte) actorBytes.length).put(actorBytes);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 4, buffer.position() - 4);
+        buffer.putInt((int) crc.getValue());
+        return buffer.array();
+    }
+
+    private static AuditEntry decode(ByteBuffer buffer, int position) {
+        AuditEntry entry = new AuditEntry();
+        entry.setEntityType(AuditEntityType.fromCode(buffer.get(position + 4)).name());
+        entry.setOperation(AuditOperation.fromCode(buffer.get(position + 5)).name());
+        entry.setEntityId(new UUID(buffer.getLong(position + 6), buffer.getLong(position + 14)));
+        entry.setTimestamp(new Timestamp(buffer.getLong(position + 22)));
+        double rate = buffer.getDouble(position + 30);
+        entry.setRate(Double.isNaN(rate) ? null : rate);
+        int offset = position + 38;
+        entry.setOldStatus(readString(buffer, offset));
+        offset += 1 + Byte.toUnsignedInt(buffer.get(offset));
+        entry.setNewStatus(readString(buffer, offset));
+        offset += 1 + Byte.toUnsignedInt(buffer.get(offset));
+        entry.setActor(readString(buffer, offset));
+        return entry;
+    }
+
+    private static byte[] toBytes(String value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return bytes.length > MAX_STRING_BYTES ? Arrays.copyOf(bytes, MAX_STRING_BYTES) : bytes;
+    }
+
+    private static String readString(ByteBuffer buffer, int offset) {
+        int length = Byte.toUnsignedInt(buffer.get(offset));
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static MappedByteBuffer map(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static Path indexFile(Path segment) {
+        String name = segment.getFileName().toString();
+        return segment.resolveSibling(name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    private static int segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static String currentActor() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            String actor = servletAttributes.getRequest().getHeader(ACTOR_HEADER);
+            return actor == null || actor.isBlank() ? "anonymous" : actor.trim();
+        }
+        return "system";
+    }
+}
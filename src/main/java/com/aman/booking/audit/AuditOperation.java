@@ -0,0 +1,28 @@
+package com.aman.booking.audit;
+
+public enum AuditOperation {
+    CREATE(1),
+    UPDATE(2),
+    DELETE(3),
+    EXPIRE(4),
+    IMPORT(5);
+
+    private final byte code;
+
+    AuditOperation(int code) {
+        this.code = (byte) code;
+    }
+
+    byte code() {
+        return code;
+    }
+
+    static AuditOperation fromCode(byte code) {
+        for (AuditOperation operation : values()) {
+            if (operation.code == code) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown audit operation code: " + code);
+    }
+}
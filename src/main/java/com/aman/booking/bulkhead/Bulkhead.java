@@ -0,0 +1,89 @@
+package com.aman.booking.bulkhead;
+
+import com.aman.booking.dto.BulkheadStats;
+import com.aman.booking.exception.BulkheadFullException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how many calls run at once. A call that finds no free permit waits, but only if fewer than
+ * {@code maxQueue} calls are already waiting, and only for up to {@code timeoutMs}; otherwise it fails fast with
+ * {@link BulkheadFullException}.
+ */
+public class Bulkhead {
+
+    private final BulkheadType type;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long timeoutMs;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public Bulkhead(BulkheadType type, int maxConcurrent, int maxQueue, long timeoutMs) {
+        this.type = type;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.timeoutMs = timeoutMs;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    public void acquire() {
+        if (permits.tryAcquire()) {
+            accepted.increment();
+            return;
+        }
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            throw new BulkheadFullException("The " + type.name().toLowerCase() + " bulkhead is full, try again later");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                timedOut.increment();
+                throw new BulkheadFullException("Timed out after " + timeoutMs + " ms waiting for the " + type.name().toLowerCase() + " bulkhead");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException("Interrupted while waiting for the " + type.name().toLowerCase() + " bulkhead");
+        } finally {
+            waiting.decrementAndGet();
+        }
+        long waitNanos = System.nanoTime() - start;
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        queued.increment();
+        accepted.increment();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public BulkheadStats stats() {
+        BulkheadStats stats = new BulkheadStats();
+        stats.setName(type.name());
+        stats.setMaxConcurrent(maxConcurrent);
+        stats.setMaxQueue(maxQueue);
+        stats.setTimeoutMs(timeoutMs);
+        stats.setActive(maxConcurrent - permits.availablePermits());
+        stats.setWaiting(waiting.get());
+        stats.setAccepted(accepted.sum());
+        stats.setRejected(rejected.sum());
+        stats.setTimedOut(timedOut.sum());
+        long queuedCalls = queued.sum();
+        stats.setAverageWaitMs(queuedCalls == 0 ? 0 : totalWaitNanos.sum() / queuedCalls / 1_000_000.0);
+        stats.setMaxWaitMs(maxWaitNanos.get() / 1_000_000.0);
+        return stats;
+    }
+}
@@ -0,0 +1,42 @@
+package com.aman.booking.bulkhead;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Takes a bulkhead permit before the transaction starts, so a call waiting for a permit never holds a connection.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class BulkheadAspect {
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Around("@annotation(useBulkhead)")
+    public Object limit(ProceedingJoinPoint joinPoint, UseBulkhead useBulkhead) throws Throwable {
+        if (BulkheadContext.current() != null) {
+            // already inside a bulkhead, e.g. a write that reads back through another service method
+            return joinPoint.proceed();
+        }
+        Bulkhead bulkhead = bulkheadRegistry.get(useBulkhead.value());
+        if (bulkhead != null) {
+            bulkhead.acquire();
+        }
+        BulkheadType previous = BulkheadContext.swap(useBulkhead.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            BulkheadContext.restore(previous);
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.aman.booking.bulkhead;
+
+import java.util.function.Supplier;
+
+/**
+ * The bulkhead the current thread runs in, used to pick the connection pool. Unset means the primary pool.
+ */
+public final class BulkheadContext {
+
+    private static final ThreadLocal<BulkheadType> CURRENT = new ThreadLocal<>();
+
+    private BulkheadContext() {
+    }
+
+    public static BulkheadType current() {
+        return CURRENT.get();
+    }
+
+    public static boolean isRead() {
+        return CURRENT.get() == BulkheadType.READ;
+    }
+
+    /**
+     * Runs the action in the given bulkhead, used to carry the caller's bulkhead over to another thread.
+     */
+    public static <T> T call(BulkheadType type, Supplier<T> action) {
+        BulkheadType previous = swap(type);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    static BulkheadType swap(BulkheadType type) {
+        BulkheadType previous = CURRENT.get();
+        CURRENT.set(type);
+        return previous;
+    }
+
+    static void restore(BulkheadType previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
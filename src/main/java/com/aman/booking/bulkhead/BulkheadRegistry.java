@@ -0,0 +1,78 @@
+package com.aman.booking.bulkhead;
+
+import com.aman.booking.dto.BulkheadStats;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class BulkheadRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadRegistry.class);
+
+    @Value("${bulkhead.enabled:true}")
+    private boolean enabled;
+
+    @Value("${bulkhead.read.max-concurrent:8}")
+    private int readMaxConcurrent;
+
+    @Value("${bulkhead.read.max-queue:32}")
+    private int readMaxQueue;
+
+    @Value("${bulkhead.read.timeout-ms:2000}")
+    private long readTimeoutMs;
+
+    @Value("${bulkhead.write.max-concurrent:8}")
+    private int writeMaxConcurrent;
+
+    @Value("${bulkhead.write.max-queue:200}")
+    private int writeMaxQueue;
+
+    @Value("${bulkhead.write.timeout-ms:5000}")
+    private long writeTimeoutMs;
+
+    @Value("${bulkhead.read.pool-size:12}")
+    private int readPoolSize;
+
+    @Value("${sharding.max-pool-size:10}")
+    private int primaryPoolSize;
+
+    private final Map<BulkheadType, Bulkhead> bulkheads = new EnumMap<>(BulkheadType.class);
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            logger.info("Bulkhead limits are disabled");
+            return;
+        }
+        // a call that gets a permit but then waits on the pool is only bounded by the pool timeout, not the bulkhead's
+        if (readPoolSize <= readMaxConcurrent) {
+            logger.warn("bulkhead.read.pool-size ({}) should be larger than bulkhead.read.max-concurrent ({})", readPoolSize, readMaxConcurrent);
+        }
+        if (writeMaxConcurrent >= primaryPoolSize) {
+            logger.warn("bulkhead.write.max-concurrent ({}) should be below sharding.max-pool-size ({}), which is shared with lookups, imports and scheduled jobs",
+                    writeMaxConcurrent, primaryPoolSize);
+        }
+        bulkheads.put(BulkheadType.READ, new Bulkhead(BulkheadType.READ, readMaxConcurrent, readMaxQueue, readTimeoutMs));
+        bulkheads.put(BulkheadType.WRITE, new Bulkhead(BulkheadType.WRITE, writeMaxConcurrent, writeMaxQueue, writeTimeoutMs));
+    }
+
+    /**
+     * Returns the bulkhead of the given type, or null when limits are disabled.
+     */
+    public Bulkhead get(BulkheadType type) {
+        return bulkheads.get(type);
+    }
+
+    public List<BulkheadStats> getStats() {
+        List<BulkheadStats> stats = new ArrayList<>();
+        bulkheads.values().forEach(bulkhead -> stats.add(bulkhead.stats()));
+        return stats;
+    }
+}
@@ -0,0 +1,6 @@
+package com.aman.booking.bulkhead;
+
+public enum BulkheadType {
+    READ,
+    WRITE
+}
@@ -0,0 +1,16 @@
+package com.aman.booking.bulkhead;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a service method inside a bulkhead. READ methods also take their connections from the shard's separate
+ * read pool, so list and export queries cannot use up the connections that writes need.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface UseBulkhead {
+    BulkheadType value();
+}
@@ -0,0 +1,44 @@
+package com.aman.booking.controller;
+
+import com.aman.booking.bulkhead.BulkheadRegistry;
+import com.aman.booking.dto.BulkheadStats;
+import com.aman.booking.dto.SlowRequestReport;
+import com.aman.booking.profiling.RequestProfiler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+    private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+    @Autowired
+    private RequestProfiler requestProfiler;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @GetMapping("/slow-requests")
+    public List<SlowRequestReport> getSlowRequests() {
+        logger.info("Received request to get slow requests");
+        return requestProfiler.getSlowRequests();
+    }
+
+    @DeleteMapping("/slow-requests")
+    public ResponseEntity<Void> clearSlowRequests() {
+        logger.info("Received request to clear slow requests");
+        requestProfiler.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/bulkheads")
+    public List<BulkheadStats> getBulkheads() {
+        logger.info("Received request to get bulkhead stats");
+        return bulkheadRegistry.getStats();
+    }
+}
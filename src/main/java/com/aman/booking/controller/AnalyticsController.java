@@ -0,0 +1,40 @@
+package com.aman.booking.controller;
+
+import com.aman.booking.dto.LaneRateSummary;
+import com.aman.booking.service.RateAnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+
+    @Autowired
+    private RateAnalyticsService rateAnalyticsService;
+
+    @GetMapping("/rates")
+    public LaneRateSummary getLaneRates(@RequestParam String loadingPoint,
+                                        @RequestParam String unloadingPoint,
+                                        @RequestParam(required = false) String truckType,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        logger.info("Received request to get lane rates - loadingPoint: {}, unloadingPoint: {}, truckType: {}, from: {}, to: {}",
+                loadingPoint, unloadingPoint, truckType, from, to);
+        return rateAnalyticsService.getLaneRates(loadingPoint, unloadingPoint, truckType, from, to);
+    }
+
+    @PostMapping("/rates/rebuild")
+    public ResponseEntity<Map<String, Long>> rebuildLaneRates() {
+        logger.info("Received request to rebuild lane rates");
+        long samples = rateAnalyticsService.rebuild();
+        return ResponseEntity.ok(Map.of("samples", samples));
+    }
+}
@@ -1,11 +1,12 @@
 package com.aman.booking.controller;
 
+import com.aman.booking.dto.AuditEntry;
 import com.aman.booking.dto.BookingRequest;
 import com.aman.booking.entity.Booking;
 import com.aman.booking.entity.Load;
 import com.aman.booking.exception.ResourceNotFoundException;
-import com.aman.booking.repository.LoadRepository;
 import com.aman.booking.service.BookingService;
+import com.aman.booking.service.LoadService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,16 +29,13 @@ public class BookingController {
     private BookingService bookingService;
 
     @Autowired
-    private LoadRepository loadRepository;
+    private LoadService loadService;
 
     @PostMapping
     public ResponseEntity<?> createBooking(@Valid @RequestBody BookingRequest bookingRequest) {
         logger.info("Received request to create booking for loadId: {}", bookingRequest.getLoadId());
 
-        Load load = loadRepository.findById(bookingRequest.getLoadId()).orElseThrow(() -> {
-            logger.error("Load not found with id: {}", bookingRequest.getLoadId());
-            return new ResourceNotFoundException("Load not found with id: " + bookingRequest.getLoadId());
-        });
+        Load load = loadService.getLoad(bookingRequest.getLoadId());
         Booking booking = new Booking();
         booking.setLoad(load);
         booking.setTransporterId(bookingRequest.getTransporterId());
@@ -53,9 +51,13 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<Booking> getBookings(@RequestParam(required = false) String transporterId, @RequestParam(required = false) String shipperId, @RequestParam(required = false) String status) {
-        logger.info("Received request to get bookings with filters - transporterId: {}, shipperId: {}, status: {}", transporterId, shipperId, status);
-        return bookingService.getFilteredBookings(transporterId, shipperId, status);
+    public List<?> getBookings(@RequestParam(required = false) String transporterId, @RequestParam(required = false) String shipperId, @RequestParam(required = false) String status,
+                               @RequestParam(defaultValue = "false") boolean includeArchived, @RequestParam(required = false) String fields) {
+        logger.info("Received request to get bookings with filters - transporterId: {}, shipperId: {}, status: {}, includeArchived: {}, fields: {}", transporterId, shipperId, status, includeArchived, fields);
+        if (fields != null) {
+            return bookingService.getFilteredBookingFields(fields, transporterId, shipperId, status, includeArchived);
+        }
+        return bookingService.getFilteredBookings(transporterId, shipperId, status, includeArchived);
     }
 
     @GetMapping("/{bookingId}")
@@ -68,6 +70,12 @@ public class BookingController {
         return ResponseEntity.ok(booking);
     }
 
+    @GetMapping("/{bookingId}/history")
+    public List<AuditEntry> getBookingHistory(@PathVariable UUID bookingId) {
+        logger.info("Received request to get history of booking with id: {}", bookingId);
+        return bookingService.getBookingHistory(bookingId);
+    }
+
     @PutMapping("/{bookingId}")
     public ResponseEntity<Booking> updateBooking(@PathVariable UUID bookingId, @Valid @RequestBody Booking booking) {
         logger.info("Received request to update booking with id: {}", bookingId);
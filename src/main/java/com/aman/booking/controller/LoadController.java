@@ -1,14 +1,21 @@
 package com.aman.booking.controller;
 
+import com.aman.booking.dto.AuditEntry;
+import com.aman.booking.dto.LoadFacets;
+import com.aman.booking.dto.NearbyLoad;
+import com.aman.booking.entity.ApiChecks;
 import com.aman.booking.entity.Load;
+import com.aman.booking.service.GeoSearchService;
 import com.aman.booking.service.LoadService;
-import jakarta.validation.Valid;
+import com.aman.booking.service.LocationDictionary;
+import jakarta.validation.groups.Default;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -24,25 +31,67 @@ public class LoadController {
     @Autowired
     private LoadService loadService;
 
+    @Autowired
+    private GeoSearchService geoSearchService;
+
+    @Autowired
+    private LocationDictionary locationDictionary;
+
 
     @PostMapping
-    public ResponseEntity<Load> createLoad(@Valid @RequestBody Load load) {
+    public ResponseEntity<Load> createLoad(@Validated({Default.class, ApiChecks.class}) @RequestBody Load load) {
         logger.info("Received request to create load for shipperId: {}", load.getShipperId());
+        // new locations are stored on shard 0 before the load's transaction takes a connection
+        locationDictionary.normalize(load.getFacility());
         Load createdLoad = loadService.createLoad(load);
         logger.info("Load created successfully with id: {}", createdLoad.getId());
         return new ResponseEntity<>(createdLoad, HttpStatus.CREATED);
     }
 
     @GetMapping
-    public List<Load> getLoads(@RequestParam(required = false) String shipperId,
-                               @RequestParam(required = false) String truckType,
-                               @RequestParam(required = false) String status,
-                               @RequestParam(required = false) String loadingPoint,
-                               @RequestParam(required = false) String unloadingPoint) {
+    public List<?> getLoads(@RequestParam(required = false) String shipperId,
+                            @RequestParam(required = false) String truckType,
+                            @RequestParam(required = false) String status,
+                            @RequestParam(required = false) String loadingPoint,
+                            @RequestParam(required = false) String unloadingPoint,
+                            @RequestParam(defaultValue = "false") boolean includeArchived,
+                            @RequestParam(required = false) String fields) {
         logger.info("Received request to get loads with filters - shipperId: {}, truckType: {}, status: {}, " +
-                        "loadingPoint: {}, unloadingPoint: {}",
-                shipperId, truckType, status, loadingPoint, unloadingPoint);
-        return loadService.getFilteredLoads(shipperId, truckType, status, loadingPoint, unloadingPoint);
+                        "loadingPoint: {}, unloadingPoint: {}, includeArchived: {}, fields: {}",
+                shipperId, truckType, status, loadingPoint, unloadingPoint, includeArchived, fields);
+        if (fields != null) {
+            return loadService.getFilteredLoadFields(fields, shipperId, truckType, status, loadingPoint, unloadingPoint, includeArchived);
+        }
+        return loadService.getFilteredLoads(shipperId, truckType, status, loadingPoint, unloadingPoint, includeArchived);
+    }
+
+    @GetMapping("/facets")
+    public LoadFacets getLoadFacets(@RequestParam(required = false) String dimensions,
+                                    @RequestParam(defaultValue = "10") int topLanes,
+                                    @RequestParam(required = false) String shipperId,
+                                    @RequestParam(required = false) String truckType,
+                                    @RequestParam(required = false) String status,
+                                    @RequestParam(required = false) String loadingPoint,
+                                    @RequestParam(required = false) String unloadingPoint) {
+        logger.info("Received request to get load facets {} with filters - shipperId: {}, truckType: {}, status: {}, " +
+                        "loadingPoint: {}, unloadingPoint: {}", dimensions, shipperId, truckType, status, loadingPoint, unloadingPoint);
+        return loadService.getLoadFacets(dimensions, topLanes, shipperId, truckType, status, loadingPoint, unloadingPoint);
+    }
+
+    @GetMapping("/nearby")
+    public List<NearbyLoad> getNearbyLoads(@RequestParam(required = false) Double lat,
+                                           @RequestParam(required = false) Double lon,
+                                           @RequestParam(required = false) Double radiusKm,
+                                           @RequestParam(required = false) Double minLat,
+                                           @RequestParam(required = false) Double minLon,
+                                           @RequestParam(required = false) Double maxLat,
+                                           @RequestParam(required = false) Double maxLon,
+                                           @RequestParam(required = false) String truckType,
+                                           @RequestParam(required = false) String status,
+                                           @RequestParam(defaultValue = "50") int limit) {
+        logger.info("Received request to get loads near lat: {}, lon: {}, radiusKm: {}, box: [{}, {}, {}, {}], truckType: {}, status: {}",
+                lat, lon, radiusKm, minLat, minLon, maxLat, maxLon, truckType, status);
+        return geoSearchService.findNearby(lat, lon, radiusKm, minLat, minLon, maxLat, maxLon, truckType, status, limit);
     }
 
     @GetMapping("/{loadId}")
@@ -52,9 +101,16 @@ public class LoadController {
         return ResponseEntity.ok(load);
     }
 
+    @GetMapping("/{loadId}/history")
+    public List<AuditEntry> getLoadHistory(@PathVariable("loadId") UUID loadId) {
+        logger.info("Received request to get history of load with id: {}", loadId);
+        return loadService.getLoadHistory(loadId);
+    }
+
     @PutMapping("/{loadId}")
-    public ResponseEntity<Load> updateLoad(@PathVariable("loadId") UUID loadId,@Valid @RequestBody Load load) {
+    public ResponseEntity<Load> updateLoad(@PathVariable("loadId") UUID loadId, @Validated({Default.class, ApiChecks.class}) @RequestBody Load load) {
         logger.info("Received request to update load with id: {}", loadId);
+        locationDictionary.normalize(load.getFacility());
         Load updatedLoad = loadService.updateLoad(loadId, load);
         logger.info("Load updated successfully: {}", loadId);
         return ResponseEntity.ok(updatedLoad);
@@ -0,0 +1,55 @@
+package com.aman.booking.controller;
+
+import com.aman.booking.entity.ImportJob;
+import com.aman.booking.service.LoadImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/load/import")
+public class LoadImportController {
+    private static final Logger logger = LoggerFactory.getLogger(LoadImportController.class);
+
+    @Autowired
+    private LoadImportService loadImportService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJob> importLoads(@RequestParam("file") MultipartFile file) {
+        logger.info("Received request to import loads from file: {}", file.getOriginalFilename());
+        ImportJob job = loadImportService.startImport(file);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJob> getImportJob(@PathVariable("jobId") UUID jobId) {
+        logger.info("Received request to get import job with id: {}", jobId);
+        return ResponseEntity.ok(loadImportService.getJob(jobId));
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<ImportJob> resumeImportJob(@PathVariable("jobId") UUID jobId) {
+        logger.info("Received request to resume import job with id: {}", jobId);
+        return new ResponseEntity<>(loadImportService.resumeJob(jobId), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/{jobId}/rejected")
+    public ResponseEntity<StreamingResponseBody> getRejectedRows(@PathVariable("jobId") UUID jobId) {
+        logger.info("Received request to get rejected rows for import job: {}", jobId);
+        loadImportService.getJob(jobId);
+        StreamingResponseBody body = outputStream -> loadImportService.writeRejections(jobId, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"import-" + jobId + "-rejected.csv\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,38 @@
+package com.aman.booking.dto;
+
+public class LaneCount {
+
+    private String loadingPoint;
+    private String unloadingPoint;
+    private long count;
+
+    public LaneCount(String loadingPoint, String unloadingPoint, long count) {
+        this.loadingPoint = loadingPoint;
+        this.unloadingPoint = unloadingPoint;
+        this.count = count;
+    }
+
+    public String getLoadingPoint() {
+        return loadingPoint;
+    }
+
+    public void setLoadingPoint(String loadingPoint) {
+        this.loadingPoint = loadingPoint;
+    }
+
+    public String getUnloadingPoint() {
+        return unloadingPoint;
+    }
+
+    public void setUnloadingPoint(String unloadingPoint) {
+        this.unloadingPoint = unloadingPoint;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
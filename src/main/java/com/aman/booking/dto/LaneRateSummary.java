@@ -0,0 +1,97 @@
+package com.aman.booking.dto;
+
+import java.time.LocalDate;
+
+public class LaneRateSummary {
+
+    private String loadingPoint;
+    private String unloadingPoint;
+    private String truckType;
+    private LocalDate from;
+    private LocalDate to;
+    private long count;
+    private Double p50;
+    private Double p90;
+    private Double mean;
+    private double relativeAccuracy;
+
+    public String getLoadingPoint() {
+        return loadingPoint;
+    }
+
+    public void setLoadingPoint(String loadingPoint) {
+        this.loadingPoint = loadingPoint;
+    }
+
+    public String getUnloadingPoint() {
+        return unloadingPoint;
+    }
+
+    public void setUnloadingPoint(String unloadingPoint) {
+        this.unloadingPoint = unloadingPoint;
+    }
+
+    public String getTruckType() {
+        return truckType;
+    }
+
+    public void setTruckType(String truckType) {
+        this.truckType = truckType;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Double getP50() {
+        return p50;
+    }
+
+    public void setP50(Double p50) {
+        this.p50 = p50;
+    }
+
+    public Double getP90() {
+        return p90;
+    }
+
+    public void setP90(Double p90) {
+        this.p90 = p90;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    public void setMean(Double mean) {
+        this.mean = mean;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public void setRelativeAccuracy(double relativeAccuracy) {
+        this.relativeAccuracy = relativeAccuracy;
+    }
+}
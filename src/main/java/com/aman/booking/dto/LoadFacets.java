@@ -0,0 +1,56 @@
+package com.aman.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LoadFacets {
+
+    private long total;
+    private Map<String, Long> status;
+    private Map<String, Long> truckType;
+    private Map<String, Long> productType;
+    private List<LaneCount> lanes;
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getStatus() {
+        return status;
+    }
+
+    public void setStatus(Map<String, Long> status) {
+        this.status = status;
+    }
+
+    public Map<String, Long> getTruckType() {
+        return truckType;
+    }
+
+    public void setTruckType(Map<String, Long> truckType) {
+        this.truckType = truckType;
+    }
+
+    public Map<String, Long> getProductType() {
+        return productType;
+    }
+
+    public void setProductType(Map<String, Long> productType) {
+        this.productType = productType;
+    }
+
+    public List<LaneCount> getLanes() {
+        return lanes;
+    }
+
+    public void setLanes(List<LaneCount> lanes) {
+        this.lanes = lanes;
+    }
+}
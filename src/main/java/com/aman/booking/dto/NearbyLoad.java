@@ -0,0 +1,30 @@
+package com.aman.booking.dto;
+
+import com.aman.booking.entity.Load;
+
+public class NearbyLoad {
+
+    private Load load;
+    private double distanceKm;
+
+    public NearbyLoad(Load load, double distanceKm) {
+        this.load = load;
+        this.distanceKm = distanceKm;
+    }
+
+    public Load getLoad() {
+        return load;
+    }
+
+    public void setLoad(Load load) {
+        this.load = load;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+}
@@ -0,0 +1,191 @@
+package com.aman.booking.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class SlowRequestReport {
+
+    private Instant startedAt;
+    private String method;
+    private String path;
+    private String query;
+    private int status;
+    private double totalMs;
+    private double frameworkMs;
+    private double controllerMs;
+    private double serviceMs;
+    private double repositoryMs;
+    private double sqlMs;
+    private int sqlCount;
+    private double serializationMs;
+    private int serializationSqlCount;
+    private List<SqlStatementReport> statements;
+    private int droppedStatements;
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public double getTotalMs() {
+        return totalMs;
+    }
+
+    public void setTotalMs(double totalMs) {
+        this.totalMs = totalMs;
+    }
+
+    public double getFrameworkMs() {
+        return frameworkMs;
+    }
+
+    public void setFrameworkMs(double frameworkMs) {
+        this.frameworkMs = frameworkMs;
+    }
+
+    public double getControllerMs() {
+        return controllerMs;
+    }
+
+    public void setControllerMs(double controllerMs) {
+        this.controllerMs = controllerMs;
+    }
+
+    public double getServiceMs() {
+        return serviceMs;
+    }
+
+    public void setServiceMs(double serviceMs) {
+        this.serviceMs = serviceMs;
+    }
+
+    public double getRepositoryMs() {
+        return repositoryMs;
+    }
+
+    public void setRepositoryMs(double repositoryMs) {
+        this.repositoryMs = repositoryMs;
+    }
+
+    public double getSqlMs() {
+        return sqlMs;
+    }
+
+    public void setSqlMs(double sqlMs) {
+        this.sqlMs = sqlMs;
+    }
+
+    public int getSqlCount() {
+        return sqlCount;
+    }
+
+    public void setSqlCount(int sqlCount) {
+        this.sqlCount = sqlCount;
+    }
+
+    public double getSerializationMs() {
+        return serializationMs;
+    }
+
+    public void setSerializationMs(double serializationMs) {
+        this.serializationMs = serializationMs;
+    }
+
+    public int getSerializationSqlCount() {
+        return serializationSqlCount;
+    }
+
+    public void setSerializationSqlCount(int serializationSqlCount) {
+        this.serializationSqlCount = serializationSqlCount;
+    }
+
+    public List<SqlStatementReport> getStatements() {
+        return statements;
+    }
+
+    public void setStatements(List<SqlStatementReport> statements) {
+        this.statements = statements;
+    }
+
+    public int getDroppedStatements() {
+        return droppedStatements;
+    }
+
+    public void setDroppedStatements(int droppedStatements) {
+        this.droppedStatements = droppedStatements;
+    }
+
+    public static class SqlStatementReport {
+        private String sql;
+        private List<String> parameters;
+        private double durationMs;
+
+        public SqlStatementReport() {
+        }
+
+        public SqlStatementReport(String sql, List<String> parameters, double durationMs) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.durationMs = durationMs;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public void setSql(String sql) {
+            this.sql = sql;
+        }
+
+        public List<String> getParameters() {
+            return parameters;
+        }
+
+        public void setParameters(List<String> parameters) {
+            this.parameters = parameters;
+        }
+
+        public double getDurationMs() {
+            return durationMs;
+        }
+
+        public void setDurationMs(double durationMs) {
+            this.durationMs = durationMs;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.aman.booking.entity;
+
+/**
+ * Validation group for constraints that only apply to loads received through the API, such as an unloading date
+ * in the future. Bulk imports and the validation Hibernate runs before persisting use the default group only, so
+ * historical rows can still be imported and saved.
+ */
+public interface ApiChecks {
+}
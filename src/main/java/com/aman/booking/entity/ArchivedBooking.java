@@ -0,0 +1,136 @@
+package com.aman.booking.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+@Entity
+@Table(name = "booking_archive", indexes = {
+        @Index(name = "idx_booking_archive_load_id", columnList = "loadId"),
+        @Index(name = "idx_booking_archive_transporter_id", columnList = "transporterId")
+})
+public class ArchivedBooking implements Persistable<UUID> {
+
+    @Id
+    private UUID id;
+
+    private UUID loadId;
+
+    private String transporterId;
+
+    private double proposedRate;
+
+    private String comment;
+
+    private String status;
+
+    private Timestamp requestedAt;
+
+    private Timestamp archivedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    public static ArchivedBooking from(Booking booking, Timestamp archivedAt) {
+        ArchivedBooking archived = new ArchivedBooking();
+        archived.setId(booking.getId());
+        archived.setLoadId(booking.getLoad().getId());
+        archived.setTransporterId(booking.getTransporterId());
+        archived.setProposedRate(booking.getProposedRate());
+        archived.setComment(booking.getComment());
+        archived.setStatus(booking.getStatus());
+        archived.setRequestedAt(booking.getRequestedAt());
+        archived.setArchivedAt(archivedAt);
+        return archived;
+    }
+
+    public Booking toBooking(Load load) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setLoad(load);
+        booking.setTransporterId(transporterId);
+        booking.setProposedRate(proposedRate);
+        booking.setComment(comment);
+        booking.setStatus(status);
+        booking.setRequestedAt(requestedAt);
+        return booking;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getLoadId() {
+        return loadId;
+    }
+
+    public void setLoadId(UUID loadId) {
+        this.loadId = loadId;
+    }
+
+    public String getTransporterId() {
+        return transporterId;
+    }
+
+    public void setTransporterId(String transporterId) {
+        this.transporterId = transporterId;
+    }
+
+    public double getProposedRate() {
+        return proposedRate;
+    }
+
+    public void setProposedRate(double proposedRate) {
+        this.proposedRate = proposedRate;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Timestamp getRequestedAt() {
+        return requestedAt;
+    }
+
+    public void setRequestedAt(Timestamp requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+
+    public Timestamp getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(Timestamp archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
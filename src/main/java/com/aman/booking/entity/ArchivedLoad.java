@@ -0,0 +1,174 @@
+package com.aman.booking.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+@Entity
+@Table(name = "load_archive", indexes = {
+        @Index(name = "idx_load_archive_shipper_id", columnList = "shipperId"),
+        @Index(name = "idx_load_archive_status", columnList = "status"),
+        @Index(name = "idx_load_archive_lane", columnList = "loading_point_id, unloading_point_id")
+})
+public class ArchivedLoad implements Persistable<UUID> {
+
+    @Id
+    private UUID id;
+
+    private String shipperId;
+
+    @Embedded
+    private Facility facility;
+
+    private String productType;
+
+    private String truckType;
+
+    private int noOfTrucks;
+
+    private double weight;
+
+    private String comment;
+
+    private Timestamp datePosted;
+
+    private String status;
+
+    private Timestamp archivedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    public static ArchivedLoad from(Load load, Timestamp archivedAt) {
+        ArchivedLoad archived = new ArchivedLoad();
+        archived.setId(load.getId());
+        archived.setShipperId(load.getShipperId());
+        archived.setFacility(load.getFacility());
+        archived.setProductType(load.getProductType());
+        archived.setTruckType(load.getTruckType());
+        archived.setNoOfTrucks(load.getNoOfTrucks());
+        archived.setWeight(load.getWeight());
+        archived.setComment(load.getComment());
+        archived.setDatePosted(load.getDatePosted());
+        archived.setStatus(load.getStatus());
+        archived.setArchivedAt(archivedAt);
+        return archived;
+    }
+
+    public Load toLoad() {
+        Load load = new Load();
+        load.setId(id);
+        load.setShipperId(shipperId);
+        load.setFacility(facility);
+        load.setProductType(productType);
+        load.setTruckType(truckType);
+        load.setNoOfTrucks(noOfTrucks);
+        load.setWeight(weight);
+        load.setComment(comment);
+        load.setDatePosted(datePosted);
+        load.setStatus(status);
+        return load;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getShipperId() {
+        return shipperId;
+    }
+
+    public void setShipperId(String shipperId) {
+        this.shipperId = shipperId;
+    }
+
+    public Facility getFacility() {
+        return facility;
+    }
+
+    public void setFacility(Facility facility) {
+        this.facility = facility;
+    }
+
+    public String getProductType() {
+        return productType;
+    }
+
+    public void setProductType(String productType) {
+        this.productType = productType;
+    }
+
+    public String getTruckType() {
+        return truckType;
+    }
+
+    public void setTruckType(String truckType) {
+        this.truckType = truckType;
+    }
+
+    public int getNoOfTrucks() {
+        return noOfTrucks;
+    }
+
+    public void setNoOfTrucks(int noOfTrucks) {
+        this.noOfTrucks = noOfTrucks;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    public void setWeight(double weight) {
+        this.weight = weight;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+
+    public Timestamp getDatePosted() {
+        return datePosted;
+    }
+
+    public void setDatePosted(Timestamp datePosted) {
+        this.datePosted = datePosted;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Timestamp getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(Timestamp archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
@@ -1,5 +1,6 @@
 package com.aman.booking.entity;
 
+import com.aman.booking.sharding.ShardedId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -10,10 +11,11 @@ import java.sql.Timestamp;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = @Index(name = "idx_booking_load_id", columnList = "load_id"))
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @ShardedId
     private UUID id;
 
     @ManyToOne
@@ -1,6 +1,12 @@
 package com.aman.booking.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Embeddable;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -11,18 +17,38 @@ import java.sql.Timestamp;
 public class Facility {
 
     @NotBlank(message = "Loading point is required")
+    @Convert(converter = LocationConverter.class)
+    @Column(name = "loading_point_id")
     private String loadingPoint;
 
     @NotBlank(message = "Unloading point is required")
+    @Convert(converter = LocationConverter.class)
+    @Column(name = "unloading_point_id")
     private String unloadingPoint;
 
     @NotNull(message = "Loading date is required")
     private Timestamp loadingDate;
 
     @NotNull(message = "Unloading date is required")
-    @Future(message = "Unloading date must be in the future")
+    @Future(message = "Unloading date must be in the future", groups = ApiChecks.class)
     private Timestamp unloadingDate;
 
+    @DecimalMin(value = "-90.0", message = "Loading latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Loading latitude must be between -90 and 90")
+    private Double loadingLatitude;
+
+    @DecimalMin(value = "-180.0", message = "Loading longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Loading longitude must be between -180 and 180")
+    private Double loadingLongitude;
+
+    @DecimalMin(value = "-90.0", message = "Unloading latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Unloading latitude must be between -90 and 90")
+    private Double unloadingLatitude;
+
+    @DecimalMin(value = "-180.0", message = "Unloading longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Unloading longitude must be between -180 and 180")
+    private Double unloadingLongitude;
+
     public String getLoadingPoint() {
         return loadingPoint;
     }
@@ -54,4 +80,48 @@ public class Facility {
     public void setUnloadingDate(Timestamp unloadingDate) {
         this.unloadingDate = unloadingDate;
     }
+
+    public Double getLoadingLatitude() {
+        return loadingLatitude;
+    }
+
+    public void setLoadingLatitude(Double loadingLatitude) {
+        this.loadingLatitude = loadingLatitude;
+    }
+
+    public Double getLoadingLongitude() {
+        return loadingLongitude;
+    }
+
+    public void setLoadingLongitude(Double loadingLongitude) {
+        this.loadingLongitude = loadingLongitude;
+    }
+
+    public Double getUnloadingLatitude() {
+        return unloadingLatitude;
+    }
+
+    public void setUnloadingLatitude(Double unloadingLatitude) {
+        this.unloadingLatitude = unloadingLatitude;
+    }
+
+    public Double getUnloadingLongitude() {
+        return unloadingLongitude;
+    }
+
+    public void setUnloadingLongitude(Double unloadingLongitude) {
+        this.unloadingLongitude = unloadingLongitude;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Loading latitude and longitude must be given together")
+    public boolean isLoadingPositionComplete() {
+        return (loadingLatitude == null) == (loadingLongitude == null);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Unloading latitude and longitude must be given together")
+    public boolean isUnloadingPositionComplete() {
+        return (unloadingLatitude == null) == (unloadingLongitude == null);
+    }
 }
@@ -0,0 +1,73 @@
+package com.aman.booking.entity;
+
+import jakarta.persistence.*;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_import_batch_job_batch", columnNames = {"jobId", "batchNo"}))
+public class ImportBatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    private UUID jobId;
+
+    private long batchNo;
+
+    private int acceptedRows;
+
+    private int rejectedRows;
+
+    private Timestamp committedAt;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(UUID jobId) {
+        this.jobId = jobId;
+    }
+
+    public long getBatchNo() {
+        return batchNo;
+    }
+
+    public void setBatchNo(long batchNo) {
+        this.batchNo = batchNo;
+    }
+
+    public int getAcceptedRows() {
+        return acceptedRows;
+    }
+
+    public void setAcceptedRows(int acceptedRows) {
+        this.acceptedRows = acceptedRows;
+    }
+
+    public int getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public void setRejectedRows(int rejectedRows) {
+        this.rejectedRows = rejectedRows;
+    }
+
+    public Timestamp getCommittedAt() {
+        return committedAt;
+    }
+
+    public void setCommittedAt(Timestamp committedAt) {
+        this.committedAt = committedAt;
+    }
+}
@@ -0,0 +1,64 @@
+package com.aman.booking.entity;
+
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+@Entity
+@Table(indexes = @Index(name = "idx_import_rejection_job_row", columnList = "jobId, rowNumber"))
+public class ImportRejection {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    private UUID jobId;
+
+    private long rowNumber;
+
+    @Column(length = 2000)
+    private String reason;
+
+    @Column(columnDefinition = "text")
+    private String rawRecord;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(UUID jobId) {
+        this.jobId = jobId;
+    }
+
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    public void setRowNumber(long rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public String getRawRecord() {
+        return rawRecord;
+    }
+
+    public void setRawRecord(String rawRecord) {
+        this.rawRecord = rawRecord;
+    }
+}
@@ -1,5 +1,6 @@
 package com.aman.booking.entity;
 
+import com.aman.booking.sharding.ShardedId;
 import jakarta.persistence.*;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
@@ -8,10 +9,14 @@ import java.sql.Timestamp;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_load_status_date_posted", columnList = "status, datePosted"),
+        @Index(name = "idx_load_lane", columnList = "loading_point_id, unloading_point_id")
+})
 public class Load {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @ShardedId
     private UUID id;
     @NotBlank(message = "Shipper ID is required")
     private String shipperId;
@@ -38,7 +43,7 @@ public class Load {
     @NotNull(message = "Date posted is required")
     private Timestamp datePosted;
 
-    @Pattern(regexp = "POSTED|BOOKED|CANCELLED", message = "Status must be POSTED, BOOKED, or CANCELLED")
+    @Pattern(regexp = "POSTED|BOOKED|CANCELLED|EXPIRED", message = "Status must be POSTED, BOOKED, CANCELLED, or EXPIRED")
     private String status;
 
     public UUID getId() {
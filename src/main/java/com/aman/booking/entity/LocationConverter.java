@@ -0,0 +1,25 @@
+package com.aman.booking.entity;
+
+import com.aman.booking.service.LocationDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+@Converter
+public class LocationConverter implements AttributeConverter<String, Integer> {
+
+    @Lazy
+    @Autowired
+    private LocationDictionary locationDictionary;
+
+    @Override
+    public Integer convertToDatabaseColumn(String name) {
+        return locationDictionary.idOf(name);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return locationDictionary.nameOf(id);
+    }
+}
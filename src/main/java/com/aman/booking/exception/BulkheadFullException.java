@@ -0,0 +1,7 @@
+package com.aman.booking.exception;
+
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.aman.booking.profiling;
+
+public enum Layer {
+    CONTROLLER,
+    SERVICE,
+    REPOSITORY,
+    SQL
+}
@@ -0,0 +1,42 @@
+package com.aman.booking.profiling;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LayerTimingAspect {
+
+    @Around("within(com.aman.booking..*) && @within(org.springframework.web.bind.annotation.RestController)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(Layer.CONTROLLER, joinPoint);
+    }
+
+    @Around("within(com.aman.booking..*) && @within(org.springframework.stereotype.Service)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(Layer.SERVICE, joinPoint);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(Layer.REPOSITORY, joinPoint);
+    }
+
+    private Object time(Layer layer, ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestProfile profile = RequestProfiler.current();
+        if (profile == null) {
+            return joinPoint.proceed();
+        }
+        profile.enter(layer);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            profile.exit();
+        }
+    }
+}
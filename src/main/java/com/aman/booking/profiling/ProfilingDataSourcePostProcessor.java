@@ -0,0 +1,130 @@
+package com.aman.booking.profiling;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wraps the application DataSource so that statements executed while a request is being profiled are timed.
+ * The last statements of each request are also kept with their SQL text and bind parameters, so a request that
+ * turns out slow can report them. Statements created outside a profiled request are returned unwrapped. The DataSource proxy keeps
+ * all interfaces of the target, so lifecycle callbacks such as close and destroy still reach it.
+ */
+@Component
+public class ProfilingDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+            return Proxy.newProxyInstance(bean.getClass().getClassLoader(), ClassUtils.getAllInterfaces(bean), new DataSourceHandler(dataSource));
+        }
+        return bean;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(ProfilingDataSourcePostProcessor.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class DataSourceHandler implements InvocationHandler {
+        private final DataSource target;
+
+        private DataSourceHandler(DataSource target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ProfilingDataSourcePostProcessor.invoke(target, method, args);
+            if (result instanceof Connection connection) {
+                return proxy(Connection.class, new ConnectionHandler(connection));
+            }
+            return result;
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ProfilingDataSourcePostProcessor.invoke(target, method, args);
+            if (RequestProfiler.current() == null || !(result instanceof Statement)) {
+                return result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, new StatementHandler(statement, sql));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, new StatementHandler(statement, sql));
+            }
+            return proxy(Statement.class, new StatementHandler((Statement) result, null));
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private Map<Integer, Object> parameters;
+
+        private StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                if (RequestProfiler.current() != null) {
+                    if (parameters == null) {
+                        parameters = new HashMap<>();
+                    }
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                }
+            } else if (name.equals("clearParameters") && parameters != null) {
+                parameters.clear();
+            }
+            if (!name.startsWith("execute")) {
+                return ProfilingDataSourcePostProcessor.invoke(target, method, args);
+            }
+
+            RequestProfile profile = RequestProfiler.current();
+            if (profile == null) {
+                return ProfilingDataSourcePostProcessor.invoke(target, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            profile.enter(Layer.SQL);
+            try {
+                return ProfilingDataSourcePostProcessor.invoke(target, method, args);
+            } finally {
+                profile.recordStatement(sql, parameters, profile.exit());
+            }
+        }
+    }
+}
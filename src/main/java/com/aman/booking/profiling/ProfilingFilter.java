@@ -0,0 +1,37 @@
+package com.aman.booking.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ProfilingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RequestProfiler requestProfiler;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !requestProfiler.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestProfile profile = requestProfiler.start(request.getMethod(), request.getRequestURI(), request.getQueryString());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            requestProfiler.finish(profile, response.getStatus());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.aman.booking.profiling;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Timings for one request, owned by the request thread. Layers are tracked on a stack so that each layer is
+ * charged only its own time: a repository call made from a service counts towards REPOSITORY, not SERVICE.
+ * The last statements run, with their bind parameters, are kept in a small buffer that is only turned into a
+ * report if the request ends up slow.
+ */
+public class RequestProfile {
+
+    private static final int MAX_DEPTH = 64;
+
+    private final String method;
+    private final String path;
+    private final String query;
+    private final long startedAtMillis = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final int maxStatements;
+
+    private final long[] selfNanos = new long[Layer.values().length];
+    private final int[] calls = new int[Layer.values().length];
+    private final Layer[] layerStack = new Layer[MAX_DEPTH];
+    private final long[] startStack = new long[MAX_DEPTH];
+    private final long[] childStack = new long[MAX_DEPTH];
+    private int depth;
+
+    private long controllerEndNanos;
+    private long serializationSqlNanos;
+    private int serializationSqlCount;
+    private final Deque<SqlStatement> statements = new ArrayDeque<>();
+    private int droppedStatements;
+
+    RequestProfile(String method, String path, String query, int maxStatements) {
+        this.method = method;
+        this.path = path;
+        this.query = query;
+        this.maxStatements = maxStatements;
+    }
+
+    void enter(Layer layer) {
+        if (depth == MAX_DEPTH) {
+            return;
+        }
+        layerStack[depth] = layer;
+        startStack[depth] = System.nanoTime();
+        childStack[depth] = 0;
+        depth++;
+    }
+
+    long exit() {
+        if (depth == 0) {
+            return 0;
+        }
+        depth--;
+        long elapsed = System.nanoTime() - startStack[depth];
+        Layer layer = layerStack[depth];
+        selfNanos[layer.ordinal()] += elapsed - childStack[depth];
+        calls[layer.ordinal()]++;
+        if (depth > 0) {
+            childStack[depth - 1] += elapsed;
+        } else if (layer == Layer.CONTROLLER) {
+            controllerEndNanos = System.nanoTime();
+        } else if (layer == Layer.SQL && controllerEndNanos != 0) {
+            serializationSqlNanos += elapsed;
+            serializationSqlCount++;
+        }
+        return elapsed;
+    }
+
+    /**
+     * Keeps the statement, evicting the oldest one once {@code maxStatements} are held, so a slow request reports
+     * the statements that ran last, including the one that made it slow.
+     */
+    void recordStatement(String sql, Map<Integer, Object> parameters, long elapsedNanos) {
+        if (maxStatements <= 0) {
+            droppedStatements++;
+            return;
+        }
+        if (statements.size() == maxStatements) {
+            statements.removeFirst();
+            droppedStatements++;
+        }
+        statements.addLast(new SqlStatement(sql, parameters == null ? null : new TreeMap<>(parameters), elapsedNanos));
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    long selfNanos(Layer layer) {
+        return selfNanos[layer.ordinal()];
+    }
+
+    int calls(Layer layer) {
+        return calls[layer.ordinal()];
+    }
+
+    long serializationNanos(long finishedNanos) {
+        if (controllerEndNanos == 0) {
+            return 0;
+        }
+        return finishedNanos - controllerEndNanos - serializationSqlNanos;
+    }
+
+    int serializationSqlCount() {
+        return serializationSqlCount;
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    long startedAtMillis() {
+        return startedAtMillis;
+    }
+
+    String method() {
+        return method;
+    }
+
+    String path() {
+        return path;
+    }
+
+    String query() {
+        return query;
+    }
+
+    List<SqlStatement> statements() {
+        return new ArrayList<>(statements);
+    }
+
+    int droppedStatements() {
+        return droppedStatements;
+    }
+
+    static final class SqlStatement {
+        final String sql;
+        final Map<Integer, Object> parameters;
+        final long elapsedNanos;
+
+        SqlStatement(String sql, Map<Integer, Object> parameters, long elapsedNanos) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+}
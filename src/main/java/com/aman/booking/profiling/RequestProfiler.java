@@ -0,0 +1,138 @@
+package com.aman.booking.profiling;
+
+import com.aman.booking.dto.SlowRequestReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the profile of the request running on the current thread and keeps the most recent slow requests in a
+ * bounded ring. Every request keeps its last {@code profiler.max-statements} statements in a small buffer, but a
+ * report is only built from it for requests over the threshold; the buffer of a fast request is simply dropped.
+ */
+@Component
+public class RequestProfiler {
+    private static final Logger logger = LoggerFactory.getLogger(RequestProfiler.class);
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+    private static final int MAX_PARAMETER_LENGTH = 200;
+
+    @Value("${profiler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${profiler.slow-threshold-ms:500}")
+    private long slowThresholdMs;
+
+    @Value("${profiler.capacity:100}")
+    private int capacity;
+
+    @Value("${profiler.max-statements:100}")
+    private int maxStatements;
+
+    private final Deque<SlowRequestReport> slowRequests = new ArrayDeque<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    RequestProfile start(String method, String path, String query) {
+        RequestProfile profile = new RequestProfile(method, path, query, maxStatements);
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    void finish(RequestProfile profile, int status) {
+        CURRENT.remove();
+        long finishedNanos = System.nanoTime();
+        long totalNanos = finishedNanos - profile.startNanos();
+        if (totalNanos < TimeUnit.MILLISECONDS.toNanos(slowThresholdMs)) {
+            return;
+        }
+        SlowRequestReport report = toReport(profile, status, finishedNanos, totalNanos);
+        logger.warn("Slow request {} {} took {} ms - controller: {} ms, service: {} ms, repository: {} ms, sql: {} ms ({} statements), serialization: {} ms",
+                report.getMethod(), report.getPath(), report.getTotalMs(), report.getControllerMs(), report.getServiceMs(),
+                report.getRepositoryMs(), report.getSqlMs(), report.getSqlCount(), report.getSerializationMs());
+        synchronized (slowRequests) {
+            if (slowRequests.size() == capacity) {
+                slowRequests.removeLast();
+            }
+            slowRequests.addFirst(report);
+        }
+    }
+
+    public List<SlowRequestReport> getSlowRequests() {
+        synchronized (slowRequests) {
+            return new ArrayList<>(slowRequests);
+        }
+    }
+
+    public void clear() {
+        synchronized (slowRequests) {
+            slowRequests.clear();
+        }
+    }
+
+    private SlowRequestReport toReport(RequestProfile profile, int status, long finishedNanos, long totalNanos) {
+        long serializationNanos = profile.serializationNanos(finishedNanos);
+        long layerNanos = 0;
+        for (Layer layer : Layer.values()) {
+            layerNanos += profile.selfNanos(layer);
+        }
+
+        SlowRequestReport report = new SlowRequestReport();
+        report.setStartedAt(Instant.ofEpochMilli(profile.startedAtMillis()));
+        report.setMethod(profile.method());
+        report.setPath(profile.path());
+        report.setQuery(profile.query());
+        report.setStatus(status);
+        report.setTotalMs(millis(totalNanos));
+        report.setControllerMs(millis(profile.selfNanos(Layer.CONTROLLER)));
+        report.setServiceMs(millis(profile.selfNanos(Layer.SERVICE)));
+        report.setRepositoryMs(millis(profile.selfNanos(Layer.REPOSITORY)));
+        report.setSqlMs(millis(profile.selfNanos(Layer.SQL)));
+        report.setSqlCount(profile.calls(Layer.SQL));
+        report.setSerializationMs(millis(serializationNanos));
+        report.setSerializationSqlCount(profile.serializationSqlCount());
+        report.setFrameworkMs(millis(Math.max(0, totalNanos - layerNanos - serializationNanos)));
+
+        List<SlowRequestReport.SqlStatementReport> statements = new ArrayList<>(profile.statements().size());
+        for (RequestProfile.SqlStatement statement : profile.statements()) {
+            statements.add(new SlowRequestReport.SqlStatementReport(statement.sql, describe(statement.parameters), millis(statement.elapsedNanos)));
+        }
+        report.setStatements(statements);
+        report.setDroppedStatements(profile.droppedStatements());
+        return report;
+    }
+
+    private static List<String> describe(Map<Integer, Object> parameters) {
+        if (parameters == null) {
+            return List.of();
+        }
+        List<String> values = new ArrayList<>(parameters.size());
+        for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+            String value = String.valueOf(parameter.getValue());
+            if (value.length() > MAX_PARAMETER_LENGTH) {
+                value = value.substring(0, MAX_PARAMETER_LENGTH) + "...";
+            }
+            values.add(parameter.getKey() + "=" + value);
+        }
+        return values;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
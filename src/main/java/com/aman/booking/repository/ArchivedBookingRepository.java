@@ -0,0 +1,25 @@
+package com.aman.booking.repository;
+
+import com.aman.booking.entity.ArchivedBooking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, UUID> {
+
+    @Query("select b, l from ArchivedBooking b join ArchivedLoad l on l.id = b.loadId " +
+            "where (:transporterId is null or b.transporterId = :transporterId) " +
+            "and (:shipperId is null or l.shipperId = :shipperId) " +
+            "and (:status is null or b.status = :status)")
+    List<Object[]> findFilteredWithLoad(@Param("transporterId") String transporterId,
+                                        @Param("shipperId") String shipperId,
+                                        @Param("status") String status);
+
+    @Query("select l.facility.loadingPoint, l.facility.unloadingPoint, l.truckType, b.proposedRate, b.requestedAt " +
+            "from ArchivedBooking b join ArchivedLoad l on l.id = b.loadId")
+    Stream<Object[]> streamRateSamples();
+}
@@ -0,0 +1,23 @@
+package com.aman.booking.repository;
+
+import com.aman.booking.entity.ArchivedLoad;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ArchivedLoadRepository extends JpaRepository<ArchivedLoad, UUID> {
+
+    @Query("select a from ArchivedLoad a where (:shipperId is null or a.shipperId = :shipperId) " +
+            "and (:truckType is null or a.truckType = :truckType) " +
+            "and (:status is null or a.status = :status) " +
+            "and (:loadingPoint is null or a.facility.loadingPoint = :loadingPoint) " +
+            "and (:unloadingPoint is null or a.facility.unloadingPoint = :unloadingPoint)")
+    List<ArchivedLoad> findFiltered(@Param("shipperId") String shipperId,
+                                    @Param("truckType") String truckType,
+                                    @Param("status") String status,
+                                    @Param("loadingPoint") String loadingPoint,
+                                    @Param("unloadingPoint") String unloadingPoint);
+}
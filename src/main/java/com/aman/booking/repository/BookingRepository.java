@@ -2,10 +2,17 @@ package com.aman.booking.repository;
 
 import com.aman.booking.entity.Booking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, UUID> {
     List<Booking> findByLoadId(UUID loadId);
+    List<Booking> findByLoadIdIn(Collection<UUID> loadIds);
+
+    @Query("select l.facility.loadingPoint, l.facility.unloadingPoint, l.truckType, b.proposedRate, b.requestedAt from Booking b join b.load l")
+    Stream<Object[]> streamRateSamples();
 }
@@ -0,0 +1,126 @@
+package com.aman.booking.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts loads per facet value. On PostgreSQL this is a single pass over the matching rows with
+ * {@code GROUPING SETS}, one set per requested dimension plus an empty set for the total. H2, used by the tests and
+ * the load-test harness, has no grouping sets, so there the same counts come from a {@code UNION ALL} of one
+ * {@code GROUP BY} branch per dimension, which scans the rows once per branch.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class FacetRepository {
+
+    public static final String TOTAL = "total";
+
+    private static final Map<String, List<String>> DIMENSION_COLUMNS = Map.of(
+            "status", List.of("status"),
+            "truckType", List.of("truck_type"),
+            "productType", List.of("product_type"),
+            "lane", List.of("loading_point_id", "unloading_point_id"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private boolean groupingSets;
+
+    @PostConstruct
+    void detectDialect() {
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        groupingSets = dialect instanceof PostgreSQLDialect;
+    }
+
+    public static boolean isDimension(String name) {
+        return DIMENSION_COLUMNS.containsKey(name);
+    }
+
+    /**
+     * Returns one row per facet value as {@code [dimension, value, second value or null, count]}; lanes carry the
+     * loading and unloading point ids, and the total comes back as dimension {@value #TOTAL}. Loads without a value
+     * for a dimension are counted under a {@code null} value.
+     */
+    public List<Object[]> countLoads(List<String> dimensions, String shipperId, String truckType, String status,
+                                     Integer loadingPointId, Integer unloadingPointId) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("shipper_id", shipperId);
+        parameters.put("truck_type", truckType);
+        parameters.put("status", status);
+        parameters.put("loading_point_id", loadingPointId);
+        parameters.put("unloading_point_id", unloadingPointId);
+        parameters.values().removeIf(value -> value == null);
+        List<String> conditions = new ArrayList<>();
+        parameters.keySet().forEach(column -> conditions.add(column + " = :" + column));
+        String where = conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+
+        Query query = entityManager.createNativeQuery(groupingSets ? groupingSetsQuery(dimensions, where) : unionQuery(dimensions, where));
+        parameters.forEach(query::setParameter);
+        List<Object[]> counts = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            counts.add(groupingSets ? toGroupedCount(dimensions, (Object[]) row) : toCount((Object[]) row));
+        }
+        return counts;
+    }
+
+    private static String groupingSetsQuery(List<String> dimensions, String where) {
+        StringBuilder select = new StringBuilder("select ");
+        List<String> sets = new ArrayList<>();
+        sets.add("()");
+        for (String dimension : dimensions) {
+            String columns = String.join(", ", DIMENSION_COLUMNS.get(dimension));
+            select.append("grouping(").append(columns).append("), ").append(columns).append(", ");
+            sets.add("(" + columns + ")");
+        }
+        return select.append("count(*) from load").append(where)
+                .append(" group by grouping sets (").append(String.join(", ", sets)).append(")").toString();
+    }
+
+    private static String unionQuery(List<String> dimensions, String where) {
+        List<String> branches = new ArrayList<>();
+        branches.add("select '" + TOTAL + "' as dimension, cast(null as varchar) as facet_value, cast(null as integer) as loading_point_id, "
+                + "cast(null as integer) as unloading_point_id, count(*) as load_count from load" + where);
+        for (String dimension : dimensions) {
+            String columns = String.join(", ", DIMENSION_COLUMNS.get(dimension));
+            String values = "lane".equals(dimension) ? "cast(null as varchar), " + columns : columns + ", cast(null as integer), cast(null as integer)";
+            branches.add("select '" + dimension + "', " + values + ", count(*) from load" + where + " group by " + columns);
+        }
+        return String.join(" union all ", branches);
+    }
+
+    private static Object[] toGroupedCount(List<String> dimensions, Object[] row) {
+        long count = ((Number) row[row.length - 1]).longValue();
+        int column = 0;
+        for (String dimension : dimensions) {
+            int width = DIMENSION_COLUMNS.get(dimension).size();
+            // grouping() is 0 when every column of the dimension is part of the row's grouping set, which also
+            // tells a load without a value apart from the rolled-up rows of the other sets
+            if (((Number) row[column]).intValue() == 0) {
+                return new Object[]{dimension, row[column + 1], width > 1 ? row[column + 2] : null, count};
+            }
+            column += 1 + width;
+        }
+        return new Object[]{TOTAL, null, null, count};
+    }
+
+    private static Object[] toCount(Object[] row) {
+        String dimension = row[0].toString().trim();
+        long count = ((Number) row[4]).longValue();
+        if ("lane".equals(dimension)) {
+            return new Object[]{dimension, row[2], row[3], count};
+        }
+        return new Object[]{dimension, TOTAL.equals(dimension) ? null : row[1], null, count};
+    }
+}
@@ -0,0 +1,16 @@
+package com.aman.booking.repository;
+
+import com.aman.booking.entity.ImportBatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ImportBatchRepository extends JpaRepository<ImportBatch, UUID> {
+    boolean existsByJobIdAndBatchNo(UUID jobId, long batchNo);
+
+    @Query("select b.batchNo from ImportBatch b where b.jobId = :jobId")
+    List<Long> findBatchNosByJobId(@Param("jobId") UUID jobId);
+}
@@ -0,0 +1,31 @@
+package com.aman.booking.repository;
+
+import com.aman.booking.entity.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, UUID> {
+    List<ImportJob> findByStatusIn(Collection<String> statuses);
+
+    @Modifying
+    @Query("update ImportJob j set j.acceptedRows = j.acceptedRows + :accepted, j.rejectedRows = j.rejectedRows + :rejected, " +
+            "j.completedBatches = j.completedBatches + 1 where j.id = :id")
+    int recordBatch(@Param("id") UUID id, @Param("accepted") long accepted, @Param("rejected") long rejected);
+
+    @Modifying
+    @Query("update ImportJob j set j.status = :status, j.errorMessage = :errorMessage where j.id = :id")
+    int updateStatus(@Param("id") UUID id, @Param("status") String status, @Param("errorMessage") String errorMessage);
+
+    @Modifying
+    @Query("update ImportJob j set j.status = :status, j.totalRows = :totalRows, j.errorMessage = :errorMessage, " +
+            "j.finishedAt = :finishedAt where j.id = :id")
+    int finish(@Param("id") UUID id, @Param("status") String status, @Param("totalRows") long totalRows,
+               @Param("errorMessage") String errorMessage, @Param("finishedAt") Timestamp finishedAt);
+}
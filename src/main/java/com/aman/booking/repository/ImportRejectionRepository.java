@@ -0,0 +1,12 @@
+package com.aman.booking.repository;
+
+import com.aman.booking.entity.ImportRejection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface ImportRejectionRepository extends JpaRepository<ImportRejection, UUID> {
+    Slice<ImportRejection> findByJobIdOrderByRowNumber(UUID jobId, Pageable pageable);
+}
@@ -1,8 +1,16 @@
 package com.aman.booking.repository;
 
 import com.aman.booking.entity.Load;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,5 +22,24 @@ public interface LoadRepository extends JpaRepository<Load, UUID> {
     List<Load> findByShipperIdAndStatus(String shipperId, String status);
     List<Load> findByTruckTypeAndStatus(String truckType, String status);
     List<Load> findByShipperIdAndTruckTypeAndStatus(String shipperId, String truckType, String status);
+    List<Load> findByFacilityLoadingPoint(String loadingPoint);
+    List<Load> findByFacilityUnloadingPoint(String unloadingPoint);
+    List<Load> findByFacilityLoadingPointAndFacilityUnloadingPoint(String loadingPoint, String unloadingPoint);
+    List<Load> findByStatusInAndDatePostedBefore(Collection<String> statuses, Timestamp cutoff, Pageable pageable);
+
+    @Query("select l.id, l.facility.loadingDate from Load l where l.status = 'POSTED'")
+    List<Object[]> findPostedLoadingDates();
+
+    @Query("select l.id, l.facility.loadingLatitude, l.facility.loadingLongitude, l.truckType from Load l " +
+            "where l.status = 'POSTED' and l.facility.loadingLatitude is not null and l.facility.loadingLongitude is not null")
+    List<Object[]> findPostedPickupPositions();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from Load l where l.id in :ids and l.status = 'POSTED' and l.facility.loadingDate <= :now")
+    List<Load> findExpirableLoads(@Param("ids") Collection<UUID> ids, @Param("now") Timestamp now);
+
+    @Modifying
+    @Query("update Load l set l.status = 'EXPIRED' where l.id in :ids and l.status = 'POSTED' and l.facility.loadingDate <= :now")
+    int expirePostedLoads(@Param("ids") Collection<UUID> ids, @Param("now") Timestamp now);
 
 }
@@ -0,0 +1,13 @@
+package com.aman.booking.repository;
+
+import com.aman.booking.entity.Location;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface LocationRepository extends JpaRepository<Location, Integer> {
+    Optional<Location> findByCanonicalName(String canonicalName);
+
+    List<Location> findByIdGreaterThan(Integer id);
+}
@@ -0,0 +1,112 @@
+package com.aman.booking.repository;
+
+import com.aman.booking.entity.ArchivedBooking;
+import com.aman.booking.entity.ArchivedLoad;
+import com.aman.booking.entity.Booking;
+import com.aman.booking.entity.Load;
+import com.aman.booking.util.FieldSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Runs list queries that select only the requested columns and returns each row as a nested map keyed by the
+ * same property names as the entity JSON.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class ProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<Map<String, Object>> findLoads(List<String> fields, String shipperId, String truckType, String status,
+                                               String loadingPoint, String unloadingPoint) {
+        return findLoads(Load.class, fields, shipperId, truckType, status, loadingPoint, unloadingPoint);
+    }
+
+    public List<Map<String, Object>> findArchivedLoads(List<String> fields, String shipperId, String truckType, String status,
+                                                       String loadingPoint, String unloadingPoint) {
+        return findLoads(ArchivedLoad.class, fields, shipperId, truckType, status, loadingPoint, unloadingPoint);
+    }
+
+    public List<Map<String, Object>> findBookings(List<String> fields, String transporterId, String shipperId, String status) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Booking> booking = query.from(Booking.class);
+        List<Predicate> predicates = new ArrayList<>();
+        addEqual(cb, predicates, booking.get("transporterId"), transporterId);
+        addEqual(cb, predicates, booking.get("status"), status);
+        addEqual(cb, predicates, booking.get("load").get("shipperId"), shipperId);
+        List<Selection<?>> selections = fields.stream().map(field -> path(booking, field)).collect(Collectors.toList());
+        return run(query, selections, predicates, fields);
+    }
+
+    public List<Map<String, Object>> findArchivedBookings(List<String> fields, String transporterId, String shipperId, String status) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ArchivedBooking> booking = query.from(ArchivedBooking.class);
+        Root<ArchivedLoad> load = query.from(ArchivedLoad.class);
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(booking.get("loadId"), load.get("id")));
+        addEqual(cb, predicates, booking.get("transporterId"), transporterId);
+        addEqual(cb, predicates, booking.get("status"), status);
+        addEqual(cb, predicates, load.get("shipperId"), shipperId);
+        List<Selection<?>> selections = fields.stream()
+                .map(field -> field.startsWith("load.") ? path(load, field.substring("load.".length())) : path(booking, field))
+                .collect(Collectors.toList());
+        return run(query, selections, predicates, fields);
+    }
+
+    private List<Map<String, Object>> findLoads(Class<?> entity, List<String> fields, String shipperId, String truckType, String status,
+                                                String loadingPoint, String unloadingPoint) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> load = query.from(entity);
+        List<Predicate> predicates = new ArrayList<>();
+        addEqual(cb, predicates, load.get("shipperId"), shipperId);
+        addEqual(cb, predicates, load.get("truckType"), truckType);
+        addEqual(cb, predicates, load.get("status"), status);
+        addEqual(cb, predicates, load.get("facility").get("loadingPoint"), loadingPoint);
+        addEqual(cb, predicates, load.get("facility").get("unloadingPoint"), unloadingPoint);
+        List<Selection<?>> selections = fields.stream().map(field -> path(load, field)).collect(Collectors.toList());
+        return run(query, selections, predicates, fields);
+    }
+
+    private List<Map<String, Object>> run(CriteriaQuery<Tuple> query, List<Selection<?>> selections, List<Predicate> predicates, List<String> fields) {
+        query.multiselect(selections).where(predicates.toArray(new Predicate[0]));
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            result.add(FieldSelection.toNestedMap(fields, row.toArray()));
+        }
+        return result;
+    }
+
+    private static Path<?> path(Path<?> root, String field) {
+        Path<?> path = root;
+        for (String part : field.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+
+    private static void addEqual(CriteriaBuilder cb, List<Predicate> predicates, Path<?> path, Object value) {
+        if (value != null) {
+            predicates.add(cb.equal(path, value));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.aman.booking.service;
+
+import com.aman.booking.entity.ArchivedBooking;
+import com.aman.booking.entity.ArchivedLoad;
+import com.aman.booking.entity.Booking;
+import com.aman.booking.entity.Load;
+import com.aman.booking.repository.ArchivedBookingRepository;
+import com.aman.booking.repository.ArchivedLoadRepository;
+import com.aman.booking.repository.BookingRepository;
+import com.aman.booking.repository.LoadRepository;
+import com.aman.booking.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class ArchivalService {
+    private static final Logger logger = LoggerFactory.getLogger(ArchivalService.class);
+
+    static final List<String> ARCHIVABLE_STATUSES = List.of("BOOKED", "CANCELLED", "EXPIRED");
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedLoadRepository archivedLoadRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LocationDictionary locationDictionary;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${archival.enabled:true}")
+    private boolean enabled;
+
+    @Value("${archival.max-age-days:90}")
+    private int maxAgeDays;
+
+    @Value("${archival.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${archival.initial-delay-ms:60000}", fixedDelayString = "${archival.interval-ms:3600000}")
+    public void archiveFinishedLoads() {
+        if (!enabled) {
+            return;
+        }
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(Duration.ofDays(maxAgeDays)));
+        logger.info("Starting archival of finished loads posted before {}", cutoff);
+        int[] total = new int[1];
+        shardRouter.forEachShard(shard -> {
+            int archived;
+            do {
+                archived = archiveBatch(cutoff);
+                total[0] += archived;
+            } while (archived == batchSize);
+        });
+        logger.info("Archival finished - {} loads moved to archive", total[0]);
+    }
+
+    public int archiveBatch(Timestamp cutoff) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Integer archived = transactionTemplate.execute(status -> {
+            List<Load> loads = loadRepository.findByStatusInAndDatePostedBefore(ARCHIVABLE_STATUSES, cutoff, PageRequest.of(0, batchSize));
+            if (loads.isEmpty()) {
+                return 0;
+            }
+            List<UUID> loadIds = loads.stream().map(Load::getId).collect(Collectors.toList());
+            List<Booking> bookings = bookingRepository.findByLoadIdIn(loadIds);
+            Timestamp archivedAt = Timestamp.from(Instant.now());
+
+            archivedLoadRepository.saveAll(loads.stream().map(load -> ArchivedLoad.from(load, archivedAt)).collect(Collectors.toList()));
+            archivedBookingRepository.saveAll(bookings.stream().map(booking -> ArchivedBooking.from(booking, archivedAt)).collect(Collectors.toList()));
+            bookingRepository.deleteAllInBatch(bookings);
+            loadRepository.deleteAllInBatch(loads);
+            logger.debug("Archived batch of {} loads and {} bookings", loads.size(), bookings.size());
+            return loads.size();
+        });
+        return archived == null ? 0 : archived;
+    }
+
+    public List<Load> getArchivedLoads(String shipperId, String truckType, String status, String loadingPoint, String unloadingPoint) {
+        logger.info("Fetching archived loads - shipperId: {}, truckType: {}, status: {}, " + "loadingPoint: {}, unloadingPoint: {}", shipperId, truckType, status, loadingPoint, unloadingPoint);
+        String from = loadingPoint == null ? null : locationDictionary.displayName(loadingPoint);
+        String to = unloadingPoint == null ? null : locationDictionary.displayName(unloadingPoint);
+        if ((loadingPoint != null && from == null) || (unloadingPoint != null && to == null)) {
+            return List.of();
+        }
+        return shardRouter.gather(shipperId, () -> archivedLoadRepository.findFiltered(shipperId, truckType, status, from, to)).stream().map(ArchivedLoad::toLoad).collect(Collectors.toList());
+    }
+
+    public List<Booking> getArchivedBookings(String transporterId, String shipperId, String status) {
+        logger.info("Fetching archived bookings - transporterId: {}, shipperId: {}, status: {}", transporterId, shipperId, status);
+        List<Object[]> rows = shardRouter.gather(shipperId, () -> archivedBookingRepository.findFilteredWithLoad(transporterId, shipperId, status));
+        Map<UUID, Load> loads = rows.stream().map(row -> (ArchivedLoad) row[1]).collect(Collectors.toMap(ArchivedLoad::getId, ArchivedLoad::toLoad, (a, b) -> a));
+        return rows.stream().map(row -> (ArchivedBooking) row[0]).map(booking -> booking.toBooking(loads.get(booking.getLoadId()))).collect(Collectors.toList());
+    }
+}
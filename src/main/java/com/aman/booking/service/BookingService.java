@@ -1,5 +1,11 @@
 package com.aman.booking.service;
 
+import com.aman.booking.audit.AuditEntityType;
+import com.aman.booking.audit.AuditJournal;
+import com.aman.booking.audit.AuditOperation;
+import com.aman.booking.bulkhead.BulkheadType;
+import com.aman.booking.bulkhead.UseBulkhead;
+import com.aman.booking.dto.AuditEntry;
 import com.aman.booking.entity.Booking;
 import com.aman.booking.entity.Load;
 import com.aman.booking.exception.BusinessRuleViolationException;
@@ -7,14 +13,20 @@ import com.aman.booking.exception.InvalidDataException;
 import com.aman.booking.exception.ResourceNotFoundException;
 import com.aman.booking.repository.BookingRepository;
 import com.aman.booking.repository.LoadRepository;
+import com.aman.booking.repository.ProjectionRepository;
+import com.aman.booking.sharding.ShardKey;
+import com.aman.booking.sharding.ShardRouter;
+import com.aman.booking.util.FieldSelection;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -24,6 +36,8 @@ public class BookingService {
 
     private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
 
+    private static final FieldSelection BOOKING_SELECTION = bookingSelection();
+
 
     @Autowired
     private BookingRepository bookingRepository;
@@ -31,8 +45,30 @@ public class BookingService {
     @Autowired
     private LoadRepository loadRepository;
 
+    @Autowired
+    private ArchivalService archivalService;
+
+    @Autowired
+    private LoadExpiryService loadExpiryService;
+
+    @Autowired
+    private GeoSearchService geoSearchService;
+
+    @Autowired
+    private ProjectionRepository projectionRepository;
+
+    @Autowired
+    private RateAnalyticsService rateAnalyticsService;
+
+    @Autowired
+    private AuditJournal auditJournal;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @UseBulkhead(BulkheadType.WRITE)
     @Transactional
-    public Booking createBooking(Booking booking) {
+    public Booking createBooking(@ShardKey Booking booking) {
         logger.info("Creating new booking for transporterId: {}", booking.getTransporterId());
 
         Load load = booking.getLoad();
@@ -44,36 +80,55 @@ public class BookingService {
             logger.warn("Attempt to create booking for cancelled load: {}", load.getId());
             throw new BusinessRuleViolationException("Booking can't be created for a cancelled load");
         }
+        if ("EXPIRED".equals(load.getStatus())) {
+            logger.warn("Attempt to create booking for expired load: {}", load.getId());
+            throw new BusinessRuleViolationException("Booking can't be created for an expired load");
+        }
         if (booking.getStatus() != null && !Arrays.asList("PENDING", "ACCEPTED", "REJECTED").contains(booking.getStatus().toUpperCase())) {
             logger.error("Invalid booking status provided: {}", booking.getStatus());
             throw new InvalidDataException("Invalid booking status: " + booking.getStatus());
         }
         Booking savedBooking = bookingRepository.save(booking);
         logger.debug("Booking saved with ID: {}", savedBooking.getId());
+        rateAnalyticsService.recordBooking(savedBooking);
+        auditJournal.record(AuditEntityType.BOOKING, savedBooking.getId(), AuditOperation.CREATE, null, savedBooking.getStatus(), savedBooking.getProposedRate());
+        String previousLoadStatus = load.getStatus();
         load.setStatus("BOOKED");
         loadRepository.save(load);
+        loadExpiryService.untrack(load.getId());
+        geoSearchService.untrack(load.getId());
+        auditJournal.record(AuditEntityType.LOAD, load.getId(), AuditOperation.UPDATE, previousLoadStatus, load.getStatus(), savedBooking.getProposedRate());
         logger.info("Load status updated to BOOKED for loadId: {}", load.getId());
         return savedBooking;
     }
 
-    public Optional<Booking> getBooking(UUID bookingId) {
+    public Optional<Booking> getBooking(@ShardKey UUID bookingId) {
         logger.info("Fetching booking with id: {}", bookingId);
         return bookingRepository.findById(bookingId);
     }
 
+    public List<AuditEntry> getBookingHistory(UUID bookingId) {
+        logger.info("Fetching history of booking with id: {}", bookingId);
+        return auditJournal.getHistory(AuditEntityType.BOOKING, bookingId);
+    }
+
+    @UseBulkhead(BulkheadType.READ)
     public List<Booking> getAllBookings() {
         logger.info("Fetching all bookings");
-        return bookingRepository.findAll();
+        return shardRouter.scatter(bookingRepository::findAll);
     }
 
+    @UseBulkhead(BulkheadType.WRITE)
     @Transactional
-    public Booking updateBooking(UUID bookingId, Booking bookingDetails) {
+    public Booking updateBooking(@ShardKey UUID bookingId, Booking bookingDetails) {
         logger.info("Updating booking with id: {}", bookingId);
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> {
                     logger.error("Booking not found with id: {}", bookingId);
                     return new ResourceNotFoundException("Booking not found with id: " + bookingId);
                 });
+        double previousRate = booking.getProposedRate();
+        String previousStatus = booking.getStatus();
         booking.setTransporterId(bookingDetails.getTransporterId());
         booking.setProposedRate(bookingDetails.getProposedRate());
         booking.setComment(bookingDetails.getComment());
@@ -92,11 +147,15 @@ public class BookingService {
                     throw new InvalidDataException("Invalid status: " + newStatus);
             }
         }
-        return bookingRepository.save(booking);
+        Booking updatedBooking = bookingRepository.save(booking);
+        rateAnalyticsService.recordRateChange(updatedBooking, previousRate);
+        auditJournal.record(AuditEntityType.BOOKING, bookingId, AuditOperation.UPDATE, previousStatus, updatedBooking.getStatus(), updatedBooking.getProposedRate());
+        return updatedBooking;
     }
 
+    @UseBulkhead(BulkheadType.WRITE)
     @Transactional
-    public void deleteBooking(UUID bookingId) {
+    public void deleteBooking(@ShardKey UUID bookingId) {
         logger.info("Booking updated successfully: {}", bookingId);
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> {
@@ -105,19 +164,59 @@ public class BookingService {
                 });
         Load load = booking.getLoad();
         if (load != null) {
+            String previousLoadStatus = load.getStatus();
             load.setStatus("CANCELLED");
             loadRepository.save(load);
+            geoSearchService.untrack(load.getId());
+            auditJournal.record(AuditEntityType.LOAD, load.getId(), AuditOperation.UPDATE, previousLoadStatus, load.getStatus(), null);
             logger.info("Load status updated to CANCELLED for loadId: {}", load.getId());
         }
         logger.info("Booking deleted successfully: {}", bookingId);
         bookingRepository.delete(booking);
+        rateAnalyticsService.removeBooking(booking);
+        auditJournal.record(AuditEntityType.BOOKING, bookingId, AuditOperation.DELETE, booking.getStatus(), null, booking.getProposedRate());
     }
 
+    @UseBulkhead(BulkheadType.READ)
+    public List<Booking> getFilteredBookings(String transporterId, String shipperId, String status, boolean includeArchived) {
+        List<Booking> bookings = getFilteredBookings(transporterId, shipperId, status);
+        if (!includeArchived) {
+            return bookings;
+        }
+        List<Booking> result = new ArrayList<>(bookings);
+        result.addAll(archivalService.getArchivedBookings(transporterId, shipperId, status));
+        return result;
+    }
+
+    @UseBulkhead(BulkheadType.READ)
     public List<Booking> getFilteredBookings(String transporterId, String shipperId, String status) {
         logger.info("Fetching filtered bookings - transporterId: {}, shipperId: {}, status: {}", transporterId, shipperId, status);
 
-        List<Booking> bookings = bookingRepository.findAll();
+        List<Booking> bookings = shardRouter.gather(shipperId, bookingRepository::findAll);
 
         return bookings.stream().filter(booking -> transporterId == null || booking.getTransporterId().equals(transporterId)).filter(booking -> status == null || booking.getStatus().equals(status)).filter(booking -> shipperId == null || (booking.getLoad() != null && booking.getLoad().getShipperId().equals(shipperId))).collect(Collectors.toList());
     }
+
+    @UseBulkhead(BulkheadType.READ)
+    public List<Map<String, Object>> getFilteredBookingFields(String fields, String transporterId, String shipperId, String status, boolean includeArchived) {
+        List<String> selected = BOOKING_SELECTION.resolve(fields);
+        logger.info("Fetching booking fields {} - transporterId: {}, shipperId: {}, status: {}, includeArchived: {}", selected, transporterId, shipperId, status, includeArchived);
+        List<Map<String, Object>> rows = shardRouter.gather(shipperId, () -> projectionRepository.findBookings(selected, transporterId, shipperId, status));
+        if (!includeArchived) {
+            return rows;
+        }
+        List<Map<String, Object>> result = new ArrayList<>(rows);
+        result.addAll(shardRouter.gather(shipperId, () -> projectionRepository.findArchivedBookings(selected, transporterId, shipperId, status)));
+        return result;
+    }
+
+    private static FieldSelection bookingSelection() {
+        List<String> loadFields = LoadService.LOAD_FIELDS.stream().map(field -> "load." + field).collect(Collectors.toList());
+        List<String> fields = new ArrayList<>(List.of("id", "transporterId", "proposedRate", "comment", "status", "requestedAt"));
+        fields.addAll(loadFields);
+        return new FieldSelection(fields,
+                Map.of("load", loadFields,
+                        "load.facility", loadFields.stream().filter(field -> field.startsWith("load.facility.")).collect(Collectors.toList())),
+                Map.of("summary", List.of("id", "status", "transporterId", "proposedRate", "requestedAt", "load.id")));
+    }
 }
@@ -0,0 +1,169 @@
+package com.aman.booking.service;
+
+import com.aman.booking.bulkhead.BulkheadType;
+import com.aman.booking.bulkhead.UseBulkhead;
+import com.aman.booking.dto.NearbyLoad;
+import com.aman.booking.entity.Facility;
+import com.aman.booking.entity.Load;
+import com.aman.booking.exception.InvalidDataException;
+import com.aman.booking.repository.LoadRepository;
+import com.aman.booking.sharding.ShardRouter;
+import com.aman.booking.util.GeoGridIndex;
+import com.aman.booking.util.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Finds POSTED loads by pickup position. The pickup points of POSTED loads are kept in an in-memory grid index,
+ * updated after commit at the same points as the expiry wheel and rebuilt on startup. The index only narrows
+ * the search; matching loads are then read from their shards and checked again.
+ */
+@Service
+public class GeoSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(GeoSearchService.class);
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${geo.enabled:true}")
+    private boolean enabled;
+
+    @Value("${geo.cell-size-degrees:0.25}")
+    private double cellSizeDegrees;
+
+    @Value("${geo.max-radius-km:500}")
+    private double maxRadiusKm;
+
+    @Value("${geo.max-results:500}")
+    private int maxResults;
+
+    private GeoGridIndex<UUID> index;
+
+    @PostConstruct
+    void init() {
+        index = new GeoGridIndex<>(cellSizeDegrees);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        logger.info("Rebuilding pickup position index from posted loads");
+        index.clear();
+        List<Object[]> rows = shardRouter.scatter(loadRepository::findPostedPickupPositions);
+        for (Object[] row : rows) {
+            index.put((UUID) row[0], (Double) row[1], (Double) row[2], (String) row[3]);
+        }
+        logger.info("Pickup position index rebuilt - {} loads indexed", index.size());
+    }
+
+    public void track(Load load) {
+        if (!enabled || load.getId() == null) {
+            return;
+        }
+        UUID loadId = load.getId();
+        Facility facility = load.getFacility();
+        if (!"POSTED".equals(load.getStatus()) || facility == null || facility.getLoadingLatitude() == null || facility.getLoadingLongitude() == null) {
+            untrack(loadId);
+            return;
+        }
+        double latitude = facility.getLoadingLatitude();
+        double longitude = facility.getLoadingLongitude();
+        String truckType = load.getTruckType();
+        TransactionCallbacks.afterCommit(() -> index.put(loadId, latitude, longitude, truckType));
+    }
+
+    public void untrack(UUID loadId) {
+        if (!enabled) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> index.remove(loadId));
+    }
+
+    @UseBulkhead(BulkheadType.READ)
+    public List<NearbyLoad> findNearby(Double latitude, Double longitude, Double radiusKm, Double minLatitude, Double minLongitude,
+                                       Double maxLatitude, Double maxLongitude, String truckType, String status, int limit) {
+        logger.info("Searching loads near lat: {}, lon: {}, radiusKm: {}, box: [{}, {}, {}, {}], truckType: {}, status: {}, limit: {}",
+                latitude, longitude, radiusKm, minLatitude, minLongitude, maxLatitude, maxLongitude, truckType, status, limit);
+        if (!enabled) {
+            throw new InvalidDataException("Geo search is disabled");
+        }
+        if (status != null && !"POSTED".equals(status)) {
+            throw new InvalidDataException("Geo search only covers POSTED loads");
+        }
+        if (limit < 1 || limit > maxResults) {
+            throw new InvalidDataException("limit must be between 1 and " + maxResults);
+        }
+        Predicate<String> truckTypeFilter = type -> truckType == null || truckType.equals(type);
+        List<GeoGridIndex.Hit<UUID>> hits;
+        boolean box = minLatitude != null || minLongitude != null || maxLatitude != null || maxLongitude != null;
+        if (box) {
+            if (minLatitude == null || minLongitude == null || maxLatitude == null || maxLongitude == null || radiusKm != null) {
+                throw new InvalidDataException("A box search needs minLat, minLon, maxLat and maxLon and no radiusKm");
+            }
+            checkPosition(minLatitude, minLongitude);
+            checkPosition(maxLatitude, maxLongitude);
+            if (minLatitude > maxLatitude) {
+                throw new InvalidDataException("minLat must not be greater than maxLat");
+            }
+            double originLatitude = latitude != null ? latitude : (minLatitude + maxLatitude) / 2;
+            double originLongitude = longitude != null ? longitude : boxCenterLongitude(minLongitude, maxLongitude);
+            hits = index.withinBox(minLatitude, minLongitude, maxLatitude, maxLongitude, originLatitude, originLongitude, truckTypeFilter, limit);
+        } else {
+            if (latitude == null || longitude == null || radiusKm == null) {
+                throw new InvalidDataException("A radius search needs lat, lon and radiusKm");
+            }
+            checkPosition(latitude, longitude);
+            if (radiusKm <= 0 || radiusKm > maxRadiusKm) {
+                throw new InvalidDataException("radiusKm must be greater than 0 and at most " + maxRadiusKm);
+            }
+            hits = index.withinRadius(latitude, longitude, radiusKm, truckTypeFilter, limit);
+        }
+        return fetch(hits, truckType);
+    }
+
+    private List<NearbyLoad> fetch(List<GeoGridIndex.Hit<UUID>> hits, String truckType) {
+        Map<Integer, List<UUID>> idsByShard = hits.stream().map(GeoGridIndex.Hit::key).collect(Collectors.groupingBy(shardRouter::shardOf));
+        Map<UUID, Load> loads = shardRouter.scatter(idsByShard.keySet(), shard -> loadRepository.findAllById(idsByShard.get(shard))).stream()
+                .collect(Collectors.toMap(Load::getId, Function.identity()));
+        List<NearbyLoad> result = new ArrayList<>(hits.size());
+        for (GeoGridIndex.Hit<UUID> hit : hits) {
+            Load load = loads.get(hit.key());
+            // the index is updated after commit, so re-check the stored row
+            if (load != null && "POSTED".equals(load.getStatus()) && (truckType == null || truckType.equals(load.getTruckType()))) {
+                result.add(new NearbyLoad(load, hit.distanceKm()));
+            }
+        }
+        return result;
+    }
+
+    private static void checkPosition(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new InvalidDataException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+    }
+
+    private static double boxCenterLongitude(double minLongitude, double maxLongitude) {
+        double east = maxLongitude < minLongitude ? maxLongitude + 360 : maxLongitude;
+        double center = (minLongitude + east) / 2;
+        return center > 180 ? center - 360 : center;
+    }
+}
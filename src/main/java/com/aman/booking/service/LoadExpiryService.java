@@ -0,0 +1,218 @@
+package com.aman.booking.service;
+
+import com.aman.booking.audit.AuditEntityType;
+import com.aman.booking.audit.AuditJournal;
+import com.aman.booking.audit.AuditOperation;
+import com.aman.booking.entity.Load;
+import com.aman.booking.repository.LoadRepository;
+import com.aman.booking.sharding.ShardContext;
+import com.aman.booking.sharding.ShardRouter;
+import com.aman.booking.util.HierarchicalTimingWheel;
+import com.aman.booking.util.TransactionCallbacks;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+@Service
+public class LoadExpiryService {
+    private static final Logger logger = LoggerFactory.getLogger(LoadExpiryService.class);
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private AuditJournal auditJournal;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private GeoSearchService geoSearchService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${expiry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${expiry.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${expiry.batch-size:500}")
+    private int batchSize;
+
+    @Value("${expiry.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${expiry.retry-delay-ms:1000}")
+    private long retryDelayMs;
+
+    @Value("${expiry.max-retry-delay-ms:300000}")
+    private long maxRetryDelayMs;
+
+    private HierarchicalTimingWheel<UUID> wheel;
+
+    private final Queue<UUID> overdue = new ConcurrentLinkedQueue<>();
+
+    // failed expiry attempts per load, cleared once the load expires, changes or is given up on
+    private final Map<UUID, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        wheel = new HierarchicalTimingWheel<>(tickMs, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        logger.info("Rebuilding load expiry wheel from posted loads");
+        List<Object[]> rows = shardRouter.scatter(loadRepository::findPostedLoadingDates);
+        for (Object[] row : rows) {
+            schedule((UUID) row[0], (Timestamp) row[1]);
+        }
+        logger.info("Load expiry wheel rebuilt - {} loads tracked, {} already due", wheel.size(), overdue.size());
+    }
+
+    public void track(Load load) {
+        if (!enabled || load.getId() == null) {
+            return;
+        }
+        UUID loadId = load.getId();
+        Timestamp loadingDate = load.getFacility() != null ? load.getFacility().getLoadingDate() : null;
+        if (!"POSTED".equals(load.getStatus()) || loadingDate == null) {
+            TransactionCallbacks.afterCommit(() -> cancel(loadId));
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            failedAttempts.remove(loadId);
+            schedule(loadId, loadingDate);
+        });
+    }
+
+    public void untrack(UUID loadId) {
+        if (!enabled) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> cancel(loadId));
+    }
+
+    @Scheduled(fixedDelayString = "${expiry.poll-interval-ms:1000}")
+    public void expireDueLoads() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<UUID> due = wheel.advanceTo(now);
+        UUID loadId;
+        while ((loadId = overdue.poll()) != null) {
+            due.add(loadId);
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int expired = 0;
+        Map<Integer, List<UUID>> dueByShard = due.stream().collect(Collectors.groupingBy(shardRouter::shardOf));
+        for (Map.Entry<Integer, List<UUID>> shardDue : dueByShard.entrySet()) {
+            expired += ShardContext.call(shardDue.getKey(), () -> expire(shardDue.getValue(), now, transactionTemplate));
+        }
+        logger.info("Expired {} of {} due loads", expired, due.size());
+    }
+
+    private int expire(List<UUID> due, long now, TransactionTemplate transactionTemplate) {
+        Timestamp nowTimestamp = new Timestamp(now);
+        int expired = 0;
+        for (List<UUID> batch : batches(due)) {
+            Integer updated;
+            try {
+                updated = transactionTemplate.execute(status -> {
+                    // lock the rows first so the journal records exactly the loads this statement expires
+                    List<UUID> expirable = loadRepository.findExpirableLoads(batch, nowTimestamp).stream().map(Load::getId).collect(Collectors.toList());
+                    if (expirable.isEmpty()) {
+                        return 0;
+                    }
+                    expirable.forEach(id -> auditJournal.record(AuditEntityType.LOAD, id, AuditOperation.EXPIRE, "POSTED", "EXPIRED", null));
+                    expirable.forEach(geoSearchService::untrack);
+                    return loadRepository.expirePostedLoads(expirable, nowTimestamp);
+                });
+            } catch (RuntimeException e) {
+                logger.error("Failed to expire a batch of {} loads", batch.size(), e);
+                batch.forEach(loadId -> retryLater(loadId, now));
+                continue;
+            }
+            if (!failedAttempts.isEmpty()) {
+                batch.forEach(failedAttempts::remove);
+            }
+            expired += updated == null ? 0 : updated;
+        }
+        return expired;
+    }
+
+    /**
+     * Cuts the due loads into batches of {@code expiry.batch-size}. Loads that already failed go in batches of their
+     * own, so a row that keeps failing only holds up itself.
+     */
+    private List<List<UUID>> batches(List<UUID> due) {
+        List<List<UUID>> batches = new ArrayList<>();
+        List<UUID> fresh = new ArrayList<>(due.size());
+        for (UUID loadId : due) {
+            if (failedAttempts.containsKey(loadId)) {
+                batches.add(List.of(loadId));
+            } else {
+                fresh.add(loadId);
+            }
+        }
+        for (int from = 0; from < fresh.size(); from += batchSize) {
+            batches.add(new ArrayList<>(fresh.subList(from, Math.min(from + batchSize, fresh.size()))));
+        }
+        return batches;
+    }
+
+    /**
+     * Puts a load that failed to expire back on the wheel, doubling the delay after every failed attempt, and gives
+     * up after {@code expiry.max-attempts}. A load given up on stays POSTED until the next startup rebuild.
+     */
+    private void retryLater(UUID loadId, long now) {
+        int attempts = failedAttempts.merge(loadId, 1, Integer::sum);
+        if (attempts >= maxAttempts) {
+            failedAttempts.remove(loadId);
+            logger.error("Giving up on expiring load {} after {} failed attempts", loadId, attempts);
+            return;
+        }
+        long delay = Math.min(retryDelayMs << Math.min(attempts - 1, 30), maxRetryDelayMs);
+        if (!wheel.schedule(loadId, now + delay)) {
+            overdue.add(loadId);
+        }
+    }
+
+    private void cancel(UUID loadId) {
+        failedAttempts.remove(loadId);
+        wheel.cancel(loadId);
+    }
+
+    private void schedule(UUID loadId, Timestamp loadingDate) {
+        if (!wheel.schedule(loadId, loadingDate.getTime())) {
+            overdue.add(loadId);
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package com.aman.booking.service;
+
+import com.aman.booking.audit.AuditEntityType;
+import com.aman.booking.audit.AuditJournal;
+import com.aman.booking.audit.AuditOperation;
+import com.aman.booking.bulkhead.BulkheadType;
+import com.aman.booking.bulkhead.UseBulkhead;
+import com.aman.booking.entity.Facility;
+import com.aman.booking.entity.ImportBatch;
+import com.aman.booking.entity.ImportJob;
+import com.aman.booking.entity.ImportRejection;
+import com.aman.booking.entity.Load;
+import com.aman.booking.exception.BusinessRuleViolationException;
+import com.aman.booking.exception.InvalidDataException;
+import com.aman.booking.exception.ResourceNotFoundException;
+import com.aman.booking.repository.ImportBatchRepository;
+import com.aman.booking.repository.ImportJobRepository;
+import com.aman.booking.repository.ImportRejectionRepository;
+import com.aman.booking.repository.LoadRepository;
+import com.aman.booking.sharding.ShardContext;
+import com.aman.booking.sharding.ShardRouter;
+import com.aman.booking.util.CsvReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Service
+public class LoadImportService {
+    private static final Logger logger = LoggerFactory.getLogger(LoadImportService.class);
+
+    static final List<String> REQUIRED_COLUMNS = List.of("shipperId", "loadingPoint", "unloadingPoint", "loadingDate",
+            "unloadingDate", "productType", "truckType", "noOfTrucks", "weight", "datePosted");
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportBatchRepository importBatchRepository;
+
+    @Autowired
+    private ImportRejectionRepository importRejectionRepository;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private LoadExpiryService loadExpiryService;
+
+    @Autowired
+    private GeoSearchService geoSearchService;
+
+    @Autowired
+    private AuditJournal auditJournal;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private LocationDictionary locationDictionary;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${ingestion.work-dir:./imports}")
+    private String workDir;
+
+    @Value("${ingestion.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${ingestion.workers:4}")
+    private int workers;
+
+    @Value("${ingestion.queue-capacity:8}")
+    private int queueCapacity;
+
+    @Value("${ingestion.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    @Value("${spring.jpa.hibernate.ddl-auto:none}")
+    private String ddlAuto;
+
+    private ExecutorService jobRunner;
+
+    private ThreadPoolExecutor batchWorkers;
+
+    private final Set<UUID> activeJobs = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(Paths.get(workDir));
+        jobRunner = Executors.newFixedThreadPool(maxConcurrentJobs);
+        // CallerRunsPolicy makes the reading thread write the batch itself once the queue is full,
+        // which stops it from parsing further ahead than the workers can commit.
+        batchWorkers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobRunner.shutdownNow();
+        batchWorkers.shutdownNow();
+    }
+
+    public ImportJob startImport(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            logger.error("Attempt to import an empty file");
+            throw new InvalidDataException("Import file is empty");
+        }
+        logger.info("Starting load import from file: {}", file.getOriginalFilename());
+        Path target = Paths.get(workDir).resolve(UUID.randomUUID() + ".csv").toAbsolutePath();
+        try {
+            file.transferTo(target);
+            readColumns(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store import file", e);
+        } catch (InvalidDataException e) {
+            deleteQuietly(target);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob();
+        job.setFileName(file.getOriginalFilename());
+        job.setFilePath(target.toString());
+        job.setStatus("QUEUED");
+        job.setBatchSize(batchSize);
+        job.setCreatedAt(Timestamp.from(Instant.now()));
+        ImportJob savedJob = importJobRepository.save(job);
+        logger.info("Import job {} queued for file {}", savedJob.getId(), file.getOriginalFilename());
+        jobRunner.submit(() -> run(savedJob.getId()));
+        return savedJob;
+    }
+
+    public ImportJob getJob(UUID jobId) {
+        logger.info("Fetching import job with id: {}", jobId);
+        return importJobRepository.findById(jobId).orElseThrow(() -> {
+            logger.error("Import job not found with id: {}", jobId);
+            return new ResourceNotFoundException("Import job not found with id: " + jobId);
+        });
+    }
+
+    public ImportJob resumeJob(UUID jobId) {
+        ImportJob job = getJob(jobId);
+        if ("COMPLETED".equals(job.getStatus())) {
+            throw new BusinessRuleViolationException("Import job is already completed");
+        }
+        if (activeJobs.contains(jobId)) {
+            throw new BusinessRuleViolationException("Import job is already running");
+        }
+        logger.info("Resuming import job {} after {} completed batches", jobId, job.getCompletedBatches());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> importJobRepository.updateStatus(jobId, "QUEUED", null));
+        job.setStatus("QUEUED");
+        jobRunner.submit(() -> run(jobId));
+        return job;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        if ("create".equals(ddlAuto) || "create-drop".equals(ddlAuto)) {
+            // the schema was recreated on startup, so no job or batch marker survived the restart
+            logger.warn("Not resuming interrupted imports: spring.jpa.hibernate.ddl-auto={} drops import jobs on startup; "
+                    + "use update, validate or none to resume imports after a restart", ddlAuto);
+            return;
+        }
+        List<ImportJob> interrupted = importJobRepository.findByStatusIn(List.of("QUEUED", "RUNNING"));
+        for (ImportJob job : interrupted) {
+            logger.info("Resuming interrupted import job {}", job.getId());
+            jobRunner.submit(() -> run(job.getId()));
+        }
+    }
+
+    @UseBulkhead(BulkheadType.READ)
+    public void writeRejections(UUID jobId, OutputStream outputStream) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write("rowNumber,reason,record\n");
+        Pageable page = PageRequest.of(0, 1000);
+        Slice<ImportRejection> slice;
+        do {
+            slice = importRejectionRepository.findByJobIdOrderByRowNumber(jobId, page);
+            for (ImportRejection rejection : slice) {
+                writer.write(rejection.getRowNumber() + "," + quote(rejection.getReason()) + "," + quote(rejection.getRawRecord()) + "\n");
+            }
+            page = slice.nextPageable();
+        } while (slice.hasNext());
+        writer.flush();
+    }
+
+    void run(UUID jobId) {
+        if (!activeJobs.add(jobId)) {
+            return;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long rowNumber = 0;
+        Throwable failure = null;
+        try {
+            ImportJob job = getJob(jobId);
+            Set<Long> completedBatches = new HashSet<>(importBatchRepository.findBatchNosByJobId(jobId));
+            transactionTemplate.executeWithoutResult(status -> importJobRepository.updateStatus(jobId, "RUNNING", null));
+            logger.info("Import job {} running - {} batches already committed", jobId, completedBatches.size());
+
+            Deque<Future<?>> inFlight = new ArrayDeque<>();
+            try (CsvReader csv = new CsvReader(Files.newBufferedReader(Paths.get(job.getFilePath()), StandardCharsets.UTF_8))) {
+                Map<String, Integer> columns = indexColumns(csv.readRecord());
+                long batchNo = 0;
+                List<ImportRow> rows = new ArrayList<>();
+                List<String> record;
+                while ((record = csv.readRecord()) != null) {
+                    if (record.size() == 1 && record.get(0).isBlank()) {
+                        continue;
+                    }
+                    rowNumber++;
+                    if (!completedBatches.contains(batchNo)) {
+                        rows.add(new ImportRow(rowNumber, record, csv.lastRawRecord()));
+                    }
+                    if (rowNumber % job.getBatchSize() == 0) {
+                        submitBatch(jobId, batchNo, rows, columns, inFlight);
+                        batchNo++;
+                        rows = new ArrayList<>();
+                    }
+                }
+                submitBatch(jobId, batchNo, rows, columns, inFlight);
+            }
+            while (!inFlight.isEmpty()) {
+                inFlight.poll().get();
+            }
+        } catch (ExecutionException e) {
+            failure = e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        } catch (Exception e) {
+            failure = e;
+        } finally {
+            activeJobs.remove(jobId);
+        }
+
+        long totalRows = rowNumber;
+        Timestamp finishedAt = Timestamp.from(Instant.now());
+        if (failure == null) {
+            transactionTemplate.executeWithoutResult(status -> importJobRepository.finish(jobId, "COMPLETED", totalRows, null, finishedAt));
+            logger.info("Import job {} completed - {} rows read", jobId, totalRows);
+        } else {
+            String message = failure.getMessage();
+            transactionTemplate.executeWithoutResult(status -> importJobRepository.finish(jobId, "FAILED", totalRows, message, finishedAt));
+            logger.error("Import job {} failed after {} rows", jobId, totalRows, failure);
+        }
+    }
+
+    private void submitBatch(UUID jobId, long batchNo, List<ImportRow> rows, Map<String, Integer> columns,
+                             Deque<Future<?>> inFlight) throws ExecutionException, InterruptedException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        inFlight.add(batchWorkers.submit(() -> processBatch(jobId, batchNo, rows, columns)));
+        while (!inFlight.isEmpty() && (inFlight.peek().isDone() || inFlight.size() > workers + queueCapacity)) {
+            inFlight.poll().get();
+        }
+    }
+
+    private void processBatch(UUID jobId, long batchNo, List<ImportRow> rows, Map<String, Integer> columns) {
+        List<Load> loads = new ArrayList<>(rows.size());
+        List<ImportRejection> rejections = new ArrayList<>();
+        for (ImportRow row : rows) {
+            String reason;
+            try {
+                Load load = toLoad(row.fields, columns);
+                // default group only: the future-date checks of ApiChecks do not apply to historical rows
+                Set<ConstraintViolation<Load>> violations = validator.validate(load);
+                if (violations.isEmpty()) {
+                    locationDictionary.normalize(load.getFacility());
+                    loads.add(load);
+                    continue;
+                }
+                reason = violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+            } catch (IllegalArgumentException e) {
+                reason = e.getMessage();
+            }
+            ImportRejection rejection = new ImportRejection();
+            rejection.setJobId(jobId);
+            rejection.setRowNumber(row.rowNumber);
+            rejection.setReason(reason);
+            rejection.setRawRecord(row.raw);
+            rejections.add(rejection);
+        }
+
+        Map<Integer, List<Load>> loadsByShard = loads.stream().collect(Collectors.groupingBy(load -> shardRouter.shardFor(load.getShipperId())));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        // Every shard gets its own batch marker so a resumed batch does not insert loads twice. Shard 0 holds the
+        // job, the rejections and the counters, and commits last, so its marker means the whole batch is done.
+        for (int shard = shardRouter.shardCount() - 1; shard >= 0; shard--) {
+            List<Load> shardLoads = loadsByShard.getOrDefault(shard, List.of());
+            boolean jobShard = shard == 0;
+            if (!jobShard && shardLoads.isEmpty()) {
+                continue;
+            }
+            ShardContext.run(shard, () -> transactionTemplate.executeWithoutResult(status -> {
+                if (importBatchRepository.existsByJobIdAndBatchNo(jobId, batchNo)) {
+                    return;
+                }
+                loadRepository.saveAll(shardLoads);
+                shardLoads.forEach(loadExpiryService::track);
+                shardLoads.forEach(geoSearchService::track);
+                shardLoads.forEach(load -> auditJournal.record(AuditEntityType.LOAD, load.getId(), AuditOperation.IMPORT, null, load.getStatus(), null, "import:" + jobId));
+                ImportBatch batch = new ImportBatch();
+                batch.setJobId(jobId);
+                batch.setBatchNo(batchNo);
+                batch.setAcceptedRows(jobShard ? loads.size() : shardLoads.size());
+                batch.setRejectedRows(jobShard ? rejections.size() : 0);
+                batch.setCommittedAt(Timestamp.from(Instant.now()));
+                importBatchRepository.save(batch);
+                if (jobShard) {
+                    importRejectionRepository.saveAll(rejections);
+                    importJobRepository.recordBatch(jobId, loads.size(), rejections.size());
+                }
+            }));
+        }
+        logger.debug("Import job {} batch {} committed - {} accepted, {} rejected", jobId, batchNo, loads.size(), rejections.size());
+    }
+
+    private Load toLoad(List<String> fields, Map<String, Integer> columns) {
+        if (fields.size() < columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " columns but found " + fields.size());
+        }
+        Facility facility = new Facility();
+        facility.setLoadingPoint(text(fields, columns, "loadingPoint"));
+        facility.setUnloadingPoint(text(fields, columns, "unloadingPoint"));
+        facility.setLoadingDate(timestamp(fields, columns, "loadingDate"));
+        facility.setUnloadingDate(timestamp(fields, columns, "unloadingDate"));
+        facility.setLoadingLatitude(optionalNumber(fields, columns, "loadingLatitude"));
+        facility.setLoadingLongitude(optionalNumber(fields, columns, "loadingLongitude"));
+        facility.setUnloadingLatitude(optionalNumber(fields, columns, "unloadingLatitude"));
+        facility.setUnloadingLongitude(optionalNumber(fields, columns, "unloadingLongitude"));
+
+        Load load = new Load();
+        load.setShipperId(text(fields, columns, "shipperId"));
+        load.setFacility(facility);
+        load.setProductType(text(fields, columns, "productType"));
+        load.setTruckType(text(fields, columns, "truckType"));
+        load.setNoOfTrucks((int) number(fields, columns, "noOfTrucks"));
+        load.setWeight(number(fields, columns, "weight"));
+        load.setComment(text(fields, columns, "comment"));
+        load.setDatePosted(timestamp(fields, columns, "datePosted"));
+        load.setStatus("POSTED");
+        return load;
+    }
+
+    private Map<String, Integer> readColumns(Path file) throws IOException {
+        try (CsvReader csv = new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            return indexColumns(csv.readRecord());
+        }
+    }
+
+    private Map<String, Integer> indexColumns(List<String> header) {
+        if (header == null) {
+            throw new InvalidDataException("Import file has no header row");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim();
+            columns.put(name, i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new InvalidDataException("Import file is missing columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private static String text(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static double number(List<String> fields, Map<String, Integer> columns, String column) {
+        String value = text(fields, columns, column);
+        if (value == null) {
+            throw new IllegalArgumentException(column + ": value is required");
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + ": invalid number '" + value + "'");
+        }
+    }
+
+    private static Double optionalNumber(List<String> fields, Map<String, Integer> columns, String column) {
+        return text(fields, columns, column) == null ? null : number(fields, columns, column);
+    }
+
+    private static Timestamp timestamp(List<String> fields, Map<String, Integer> columns, String column) {
+        String value = text(fields, columns, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            if (value.chars().allMatch(Character::isDigit)) {
+                return new Timestamp(Long.parseLong(value));
+            }
+            if (value.endsWith("Z") || value.matches(".*[+-]\\d{2}:\\d{2}$")) {
+                return Timestamp.from(OffsetDateTime.parse(value).toInstant());
+            }
+            return Timestamp.valueOf(LocalDateTime.parse(value.replace(' ', 'T')));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException(column + ": invalid timestamp '" + value + "'");
+        }
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete rejected import file {}", file);
+        }
+    }
+
+    private static final class ImportRow {
+        private final long rowNumber;
+        private final List<String> fields;
+        private final String raw;
+
+        private ImportRow(long rowNumber, List<String> fields, String raw) {
+            this.rowNumber = rowNumber;
+            this.fields = fields;
+            this.raw = raw;
+        }
+    }
+}
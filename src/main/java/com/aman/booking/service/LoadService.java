@@ -1,18 +1,37 @@
 package com.aman.booking.service;
 
+import com.aman.booking.audit.AuditEntityType;
+import com.aman.booking.audit.AuditJournal;
+import com.aman.booking.audit.AuditOperation;
+import com.aman.booking.bulkhead.BulkheadType;
+import com.aman.booking.bulkhead.UseBulkhead;
+import com.aman.booking.dto.AuditEntry;
+import com.aman.booking.dto.LaneCount;
+import com.aman.booking.dto.LoadFacets;
 import com.aman.booking.entity.Booking;
 import com.aman.booking.entity.Load;
 import com.aman.booking.exception.BusinessRuleViolationException;
+import com.aman.booking.exception.InvalidDataException;
 import com.aman.booking.exception.ResourceNotFoundException;
 import com.aman.booking.repository.BookingRepository;
+import com.aman.booking.repository.FacetRepository;
 import com.aman.booking.repository.LoadRepository;
+import com.aman.booking.repository.ProjectionRepository;
+import com.aman.booking.sharding.ShardKey;
+import com.aman.booking.sharding.ShardRouter;
+import com.aman.booking.util.FieldSelection;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -21,20 +40,62 @@ import java.util.stream.Collectors;
 public class LoadService {
     private static final Logger logger = LoggerFactory.getLogger(LoadService.class);
 
+    // facet key for loads that have no value for a dimension
+    public static final String NO_FACET_VALUE = "(none)";
+
+    static final List<String> LOAD_FIELDS = List.of("id", "shipperId", "productType", "truckType", "noOfTrucks", "weight",
+            "comment", "datePosted", "status", "facility.loadingPoint", "facility.unloadingPoint", "facility.loadingDate",
+            "facility.unloadingDate", "facility.loadingLatitude", "facility.loadingLongitude", "facility.unloadingLatitude",
+            "facility.unloadingLongitude");
+
+    private static final FieldSelection LOAD_SELECTION = new FieldSelection(LOAD_FIELDS,
+            Map.of("facility", List.of("facility.loadingPoint", "facility.unloadingPoint", "facility.loadingDate", "facility.unloadingDate",
+                    "facility.loadingLatitude", "facility.loadingLongitude", "facility.unloadingLatitude", "facility.unloadingLongitude")),
+            Map.of("summary", List.of("id", "status", "truckType", "facility.loadingPoint", "facility.unloadingPoint", "facility.loadingDate")));
+
     @Autowired
     private LoadRepository loadRepository;
 
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private ArchivalService archivalService;
+
+    @Autowired
+    private LoadExpiryService loadExpiryService;
+
+    @Autowired
+    private GeoSearchService geoSearchService;
+
+    @Autowired
+    private LocationDictionary locationDictionary;
+
+    @Autowired
+    private ProjectionRepository projectionRepository;
+
+    @Autowired
+    private AuditJournal auditJournal;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private FacetRepository facetRepository;
+
+    @UseBulkhead(BulkheadType.WRITE)
     @Transactional
-    public Load createLoad(Load load) {
+    public Load createLoad(@ShardKey Load load) {
         logger.info("Creating new load for shipperId: {}", load.getShipperId());
         load.setStatus("POSTED");
-        return loadRepository.save(load);
+        Load savedLoad = loadRepository.save(load);
+        loadExpiryService.track(savedLoad);
+        geoSearchService.track(savedLoad);
+        auditJournal.record(AuditEntityType.LOAD, savedLoad.getId(), AuditOperation.CREATE, null, savedLoad.getStatus(), null);
+        return savedLoad;
     }
 
-    public Load getLoad(UUID loadId) {
+    public Load getLoad(@ShardKey UUID loadId) {
         logger.info("Fetching load with id: {}", loadId);
         return loadRepository.findById(loadId).orElseThrow(() -> {
             logger.error("Load not found with id: {}", loadId);
@@ -42,18 +103,30 @@ public class LoadService {
         });
     }
 
+    public List<AuditEntry> getLoadHistory(UUID loadId) {
+        logger.info("Fetching history of load with id: {}", loadId);
+        return auditJournal.getHistory(AuditEntityType.LOAD, loadId);
+    }
+
+    @UseBulkhead(BulkheadType.READ)
     public List<Load> getAllLoads() {
         logger.info("Fetching all loads");
-        return loadRepository.findAll();
+        return shardRouter.scatter(loadRepository::findAll);
     }
 
+    @UseBulkhead(BulkheadType.WRITE)
     @Transactional
-    public Load updateLoad(UUID loadId, Load loadDetails) {
+    public Load updateLoad(@ShardKey UUID loadId, Load loadDetails) {
         logger.info("Updating load with id: {}", loadId);
         Load load = loadRepository.findById(loadId).orElseThrow(() -> {
             logger.error("Load not found with id: {}", loadId);
             return new ResourceNotFoundException("Load not found with id: " + loadId);
         });
+        if (shardRouter.shardFor(loadDetails.getShipperId()) != shardRouter.shardOf(loadId)) {
+            logger.warn("Cannot move load {} to shipper {} on another shard", loadId, loadDetails.getShipperId());
+            throw new BusinessRuleViolationException("Cannot change the shipper of a load to a shipper stored on another shard");
+        }
+        String previousStatus = load.getStatus();
         load.setShipperId(loadDetails.getShipperId());
         load.setFacility(loadDetails.getFacility());
         load.setProductType(loadDetails.getProductType());
@@ -67,12 +140,16 @@ public class LoadService {
             logger.debug("Load status updated to: {}", loadDetails.getStatus());
         }
         Load updatedLoad = loadRepository.save(load);
+        loadExpiryService.track(updatedLoad);
+        geoSearchService.track(updatedLoad);
+        auditJournal.record(AuditEntityType.LOAD, loadId, AuditOperation.UPDATE, previousStatus, updatedLoad.getStatus(), null);
         logger.info("Load updated successfully: {}", loadId);
         return updatedLoad;
     }
 
+    @UseBulkhead(BulkheadType.WRITE)
     @Transactional
-    public void deleteLoad(UUID loadId) throws BusinessRuleViolationException {
+    public void deleteLoad(@ShardKey UUID loadId) throws BusinessRuleViolationException {
         logger.info("Attempting to delete load with id: {}", loadId);
         Load load = loadRepository.findById(loadId).orElseThrow(() -> {
             logger.error("Cannot delete - load not found with id: {}", loadId);
@@ -84,11 +161,33 @@ public class LoadService {
             throw new BusinessRuleViolationException("Cannot delete load with active bookings");
         }
         loadRepository.delete(load);
+        loadExpiryService.untrack(loadId);
+        geoSearchService.untrack(loadId);
+        auditJournal.record(AuditEntityType.LOAD, loadId, AuditOperation.DELETE, load.getStatus(), null, null);
         logger.info("Load deleted successfully: {}", loadId);
     }
 
+    @UseBulkhead(BulkheadType.READ)
+    public List<Load> getFilteredLoads(String shipperId, String truckType, String status, String loadingPoint, String unloadingPoint, boolean includeArchived) {
+        List<Load> loads = getFilteredLoads(shipperId, truckType, status, loadingPoint, unloadingPoint);
+        if (!includeArchived) {
+            return loads;
+        }
+        List<Load> result = new ArrayList<>(loads);
+        result.addAll(archivalService.getArchivedLoads(shipperId, truckType, status, loadingPoint, unloadingPoint));
+        return result;
+    }
+
+    @UseBulkhead(BulkheadType.READ)
     public List<Load> getFilteredLoads(String shipperId, String truckType, String status, String loadingPoint, String unloadingPoint) {
         logger.info("Fetching filtered loads - shipperId: {}, truckType: {}, status: {}, " + "loadingPoint: {}, unloadingPoint: {}", shipperId, truckType, status, loadingPoint, unloadingPoint);
+        return shardRouter.gather(shipperId, () -> findFilteredLoads(shipperId, truckType, status, loadingPoint, unloadingPoint));
+    }
+
+    private List<Load> findFilteredLoads(String shipperId, String truckType, String status, String loadingPoint, String unloadingPoint) {
+        if (loadingPoint != null || unloadingPoint != null) {
+            return getLaneLoads(loadingPoint, unloadingPoint).stream().filter(load -> shipperId == null || shipperId.equals(load.getShipperId())).filter(load -> truckType == null || truckType.equals(load.getTruckType())).filter(load -> status == null || status.equals(load.getStatus())).collect(Collectors.toList());
+        }
         if (shipperId != null && truckType != null && status != null) {
             return loadRepository.findByShipperIdAndTruckTypeAndStatus(shipperId, truckType, status);
         } else if (shipperId != null && truckType != null) {
@@ -104,9 +203,108 @@ public class LoadService {
         } else if (status != null) {
             return loadRepository.findByStatus(status);
         }
+        return loadRepository.findAll();
+    }
+
+    @UseBulkhead(BulkheadType.READ)
+    public List<Map<String, Object>> getFilteredLoadFields(String fields, String shipperId, String truckType, String status, String loadingPoint, String unloadingPoint, boolean includeArchived) {
+        List<String> selected = LOAD_SELECTION.resolve(fields);
+        logger.info("Fetching load fields {} - shipperId: {}, truckType: {}, status: {}, loadingPoint: {}, unloadingPoint: {}, includeArchived: {}",
+                selected, shipperId, truckType, status, loadingPoint, unloadingPoint, includeArchived);
+        String from = loadingPoint == null ? null : locationDictionary.displayName(loadingPoint);
+        String to = unloadingPoint == null ? null : locationDictionary.displayName(unloadingPoint);
+        if ((loadingPoint != null && from == null) || (unloadingPoint != null && to == null)) {
+            return List.of();
+        }
+        List<Map<String, Object>> rows = shardRouter.gather(shipperId, () -> projectionRepository.findLoads(selected, shipperId, truckType, status, from, to));
+        if (!includeArchived) {
+            return rows;
+        }
+        List<Map<String, Object>> result = new ArrayList<>(rows);
+        result.addAll(shardRouter.gather(shipperId, () -> projectionRepository.findArchivedLoads(selected, shipperId, truckType, status, from, to)));
+        return result;
+    }
+
+    @UseBulkhead(BulkheadType.READ)
+    public LoadFacets getLoadFacets(String dimensions, int topLanes, String shipperId, String truckType, String status, String loadingPoint, String unloadingPoint) {
+        List<String> selected = dimensions == null ? List.of("status", "truckType", "productType", "lane")
+                : Arrays.stream(dimensions.split(",")).map(String::trim).filter(dimension -> !dimension.isEmpty()).distinct().collect(Collectors.toList());
+        for (String dimension : selected) {
+            if (!FacetRepository.isDimension(dimension)) {
+                throw new InvalidDataException("Unknown facet dimension: " + dimension);
+            }
+        }
+        if (topLanes < 1) {
+            throw new InvalidDataException("topLanes must be at least 1");
+        }
+        logger.info("Fetching load facets {} - shipperId: {}, truckType: {}, status: {}, loadingPoint: {}, unloadingPoint: {}",
+                selected, shipperId, truckType, status, loadingPoint, unloadingPoint);
+
+        Map<String, Map<Object, Long>> counts = new HashMap<>();
+        selected.forEach(dimension -> counts.put(dimension, new HashMap<>()));
+        long total = 0;
+        Integer loadingPointId = loadingPoint == null ? null : locationDictionary.find(loadingPoint);
+        Integer unloadingPointId = unloadingPoint == null ? null : locationDictionary.find(unloadingPoint);
+        if ((loadingPoint == null || loadingPointId != null) && (unloadingPoint == null || unloadingPointId != null)) {
+            List<Object[]> rows = shardRouter.gather(shipperId, () -> facetRepository.countLoads(selected, shipperId, truckType, status, loadingPointId, unloadingPointId));
+            for (Object[] row : rows) {
+                long count = (Long) row[3];
+                if (FacetRepository.TOTAL.equals(row[0])) {
+                    total += count;
+                } else {
+                    Object value = "lane".equals(row[0]) ? Arrays.asList(row[1], row[2]) : row[1];
+                    counts.get((String) row[0]).merge(value, count, Long::sum);
+                }
+            }
+        }
+
+        LoadFacets facets = new LoadFacets();
+        facets.setTotal(total);
+        if (counts.containsKey("status")) {
+            facets.setStatus(byCount(counts.get("status")));
+        }
+        if (counts.containsKey("truckType")) {
+            facets.setTruckType(byCount(counts.get("truckType")));
+        }
+        if (counts.containsKey("productType")) {
+            facets.setProductType(byCount(counts.get("productType")));
+        }
+        if (counts.containsKey("lane")) {
+            facets.setLanes(counts.get("lane").entrySet().stream()
+                    .sorted(Map.Entry.<Object, Long>comparingByValue().reversed())
+                    .limit(topLanes)
+                    .map(entry -> {
+                        List<?> lane = (List<?>) entry.getKey();
+                        return new LaneCount(locationDictionary.nameOf(toLocationId(lane.get(0))), locationDictionary.nameOf(toLocationId(lane.get(1))), entry.getValue());
+                    })
+                    .collect(Collectors.toList()));
+        }
+        return facets;
+    }
 
-        List<Load> loads = loadRepository.findAll();
-        return loads.stream().filter(load -> loadingPoint == null || (load.getFacility() != null && load.getFacility().getLoadingPoint().equals(loadingPoint))).filter(load -> unloadingPoint == null || (load.getFacility() != null && load.getFacility().getUnloadingPoint().equals(unloadingPoint))).collect(Collectors.toList());
+    private static Map<String, Long> byCount(Map<Object, Long> counts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<Object, Long>comparingByValue().reversed())
+                .forEach(entry -> sorted.put(entry.getKey() == null ? NO_FACET_VALUE : entry.getKey().toString(), entry.getValue()));
+        return sorted;
+    }
+
+    private static Integer toLocationId(Object value) {
+        return value == null ? null : ((Number) value).intValue();
+    }
+
+    private List<Load> getLaneLoads(String loadingPoint, String unloadingPoint) {
+        // lane filters are matched on location ids; a name that was never stored cannot match any load
+        String from = loadingPoint == null ? null : locationDictionary.displayName(loadingPoint);
+        String to = unloadingPoint == null ? null : locationDictionary.displayName(unloadingPoint);
+        if ((loadingPoint != null && from == null) || (unloadingPoint != null && to == null)) {
+            return List.of();
+        }
+        if (from != null && to != null) {
+            return loadRepository.findByFacilityLoadingPointAndFacilityUnloadingPoint(from, to);
+        }
+        return from != null ? loadRepository.findByFacilityLoadingPoint(from) : loadRepository.findByFacilityUnloadingPoint(to);
     }
 
 
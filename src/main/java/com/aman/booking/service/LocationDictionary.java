@@ -0,0 +1,226 @@
+package com.aman.booking.service;
+
+import com.aman.booking.entity.Facility;
+import com.aman.booking.entity.Location;
+import com.aman.booking.repository.LocationRepository;
+import com.aman.booking.sharding.ShardContext;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory bidirectional map between location names and their integer ids. Names are matched on a canonical
+ * form (trimmed, single-spaced, case-insensitive) and returned in the spelling they were first stored with.
+ * New names are stored by {@link #intern}, which has to run before the caller's transaction starts. Ids stored by
+ * other instances are picked up by {@link #refresh} or, when a row refers to one first, read from shard 0 in a
+ * transaction of their own.
+ */
+@Service
+public class LocationDictionary {
+    private static final Logger logger = LoggerFactory.getLogger(LocationDictionary.class);
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, Integer> idsByCanonicalName = new ConcurrentHashMap<>();
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+    // ids below the highest known one that have not been seen yet, with the time they were first missed; an insert
+    // that commits after a higher id must still be picked up, but a rolled back one leaves a gap for good
+    private final Map<Integer, Long> gapsSince = new ConcurrentHashMap<>();
+    private volatile int highestId;
+
+    @Value("${locations.gap-timeout-ms:600000}")
+    private long gapTimeoutMs;
+
+    @PostConstruct
+    void load() {
+        for (Location location : locationRepository.findAll()) {
+            cache(location);
+        }
+        logger.info("Loaded {} locations into the dictionary", namesById.size());
+    }
+
+    /**
+     * Picks up locations stored by other instances: everything above the highest known id, plus the ids below it
+     * that were still missing, since identity values can commit out of order. A gap is given up on after
+     * {@code locations.gap-timeout-ms}.
+     */
+    @Scheduled(initialDelayString = "${locations.refresh-interval-ms:60000}", fixedDelayString = "${locations.refresh-interval-ms:60000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        gapsSince.entrySet().removeIf(gap -> namesById.containsKey(gap.getKey()) || now - gap.getValue() > gapTimeoutMs);
+        int known = highestId;
+        List<Integer> gaps = List.copyOf(gapsSince.keySet());
+        List<Location> added = readGlobalShard(() -> {
+            List<Location> locations = new ArrayList<>(locationRepository.findByIdGreaterThan(known));
+            if (!gaps.isEmpty()) {
+                locations.addAll(locationRepository.findAllById(gaps));
+            }
+            return locations;
+        });
+        added.forEach(this::cache);
+        if (!added.isEmpty()) {
+            logger.info("Added {} locations stored by other instances", added.size());
+        }
+    }
+
+    public static String canonicalize(String name) {
+        return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the id for the name, storing the name as a new location if it has not been seen before. Storing needs
+     * a connection to shard 0, so a new name is rejected inside a transaction.
+     */
+    public Integer intern(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String canonicalName = canonicalize(name);
+        Integer id = idsByCanonicalName.get(canonicalName);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = idsByCanonicalName.get(canonicalName);
+            if (id != null) {
+                return id;
+            }
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw new IllegalStateException("New location '" + name + "' must be interned before the transaction starts");
+            }
+            Location location = store(name.trim().replaceAll("\\s+", " "), canonicalName);
+            cache(location);
+            logger.debug("Added location {} with id {}", location.getName(), location.getId());
+            return location.getId();
+        }
+    }
+
+    /**
+     * Returns the id for the name without creating it, or null if the location is unknown.
+     */
+    public Integer find(String name) {
+        return name == null || name.isBlank() ? null : idsByCanonicalName.get(canonicalize(name));
+    }
+
+    /**
+     * Returns the id of a known location.
+     */
+    public Integer idOf(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        Integer id = find(name);
+        if (id == null) {
+            throw new IllegalStateException("Unknown location '" + name + "'; intern it before saving");
+        }
+        return id;
+    }
+
+    /**
+     * Returns the stored spelling of a known location, or null if it is unknown.
+     */
+    public String displayName(String name) {
+        Integer id = find(name);
+        return id == null ? null : namesById.get(id);
+    }
+
+    /**
+     * Returns the stored spelling for the id. An id this instance has not seen yet is read from shard 0 and cached;
+     * null is returned only if no such location exists, since the entity converter must not fail a read.
+     */
+    public String nameOf(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        String name = namesById.get(id);
+        if (name != null) {
+            return name;
+        }
+        Location location = readGlobalShard(() -> locationRepository.findById(id).orElse(null));
+        if (location == null) {
+            logger.warn("Location id {} does not exist", id);
+            return null;
+        }
+        cache(location);
+        logger.debug("Read location {} with id {} stored by another instance", location.getName(), id);
+        return location.getName();
+    }
+
+    public void normalize(Facility facility) {
+        if (facility == null) {
+            return;
+        }
+        facility.setLoadingPoint(nameOf(intern(facility.getLoadingPoint())));
+        facility.setUnloadingPoint(nameOf(intern(facility.getUnloadingPoint())));
+    }
+
+    private Location store(String name, String canonicalName) {
+        try {
+            return onGlobalShard(() -> locationRepository.findByCanonicalName(canonicalName).orElseGet(() -> {
+                Location location = new Location();
+                location.setName(name);
+                location.setCanonicalName(canonicalName);
+                return locationRepository.saveAndFlush(location);
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // another instance stored the same location first
+            return onGlobalShard(() -> locationRepository.findByCanonicalName(canonicalName).orElseThrow(() -> e));
+        }
+    }
+
+    /**
+     * Locations live on shard 0. Callers are never inside a transaction here, so switching the shard before the
+     * transaction starts is enough.
+     */
+    private <T> T onGlobalShard(Supplier<T> action) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return ShardContext.call(0, () -> transactionTemplate.execute(status -> action.get()));
+    }
+
+    /**
+     * Reads from shard 0 in a new read-only transaction, so it also works while the caller's transaction holds a
+     * connection to another shard, such as when the converter resolves an id in the middle of a query.
+     */
+    private <T> T readGlobalShard(Supplier<T> action) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+        return ShardContext.call(0, () -> transactionTemplate.execute(status -> action.get()));
+    }
+
+    private synchronized void cache(Location location) {
+        int id = location.getId();
+        idsByCanonicalName.put(location.getCanonicalName(), id);
+        namesById.put(id, location.getName());
+        gapsSince.remove(id);
+        if (id > highestId) {
+            long now = System.currentTimeMillis();
+            for (int missing = highestId + 1; missing < id; missing++) {
+                if (!namesById.containsKey(missing)) {
+                    gapsSince.putIfAbsent(missing, now);
+                }
+            }
+            highestId = id;
+        }
+    }
+}
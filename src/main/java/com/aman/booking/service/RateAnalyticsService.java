@@ -0,0 +1,337 @@
+package com.aman.booking.service;
+
+import com.aman.booking.dto.LaneRateSummary;
+import com.aman.booking.entity.Booking;
+import com.aman.booking.entity.Load;
+import com.aman.booking.exception.BusinessRuleViolationException;
+import com.aman.booking.repository.ArchivedBookingRepository;
+import com.aman.booking.repository.BookingRepository;
+import com.aman.booking.sharding.ShardContext;
+import com.aman.booking.sharding.ShardRouter;
+import com.aman.booking.util.QuantileSketch;
+import com.aman.booking.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+public class RateAnalyticsService {
+    private static final Logger logger = LoggerFactory.getLogger(RateAnalyticsService.class);
+
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LocationDictionary locationDictionary;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${analytics.rates.relative-accuracy:0.01}")
+    private double relativeAccuracy;
+
+    @Value("${analytics.rates.max-bins:512}")
+    private int maxBins;
+
+    @Value("${analytics.rates.bucket-days:7}")
+    private int bucketDays;
+
+    @Value("${analytics.rates.retention-buckets:104}")
+    private int retentionBuckets;
+
+    // lane -> truck type -> time bucket -> sketch of proposed rates
+    private volatile ConcurrentMap<Lane, ConcurrentMap<String, NavigableMap<Long, QuantileSketch>>> sketches = new ConcurrentHashMap<>();
+
+    // changes committed while a rebuild is scanning, replayed into the rebuilt sketches before they are swapped in
+    private final Object changeLock = new Object();
+    private List<PendingChange> pendingChanges;
+
+    public void recordBooking(Booking booking) {
+        RateSample sample = RateSample.of(booking);
+        if (sample != null) {
+            int shard = shardOf(booking);
+            TransactionCallbacks.afterCommit(() -> apply(shard, target -> add(target, sample)));
+        }
+    }
+
+    /**
+     * Replaces the sample for the booking's previous rate with one for its current rate. Either side is skipped
+     * when it would not have been recorded, so a rate changed to zero still drops the old sample.
+     */
+    public void recordRateChange(Booking booking, double previousRate) {
+        if (booking.getProposedRate() == previousRate) {
+            return;
+        }
+        RateSample previous = RateSample.of(booking, previousRate);
+        RateSample sample = RateSample.of(booking, booking.getProposedRate());
+        if (previous == null && sample == null) {
+            return;
+        }
+        int shard = shardOf(booking);
+        TransactionCallbacks.afterCommit(() -> apply(shard, target -> {
+            if (previous != null) {
+                remove(target, previous);
+            }
+            if (sample != null) {
+                add(target, sample);
+            }
+        }));
+    }
+
+    public void removeBooking(Booking booking) {
+        RateSample sample = RateSample.of(booking);
+        if (sample != null) {
+            int shard = shardOf(booking);
+            TransactionCallbacks.afterCommit(() -> apply(shard, target -> remove(target, sample)));
+        }
+    }
+
+    public LaneRateSummary getLaneRates(String loadingPoint, String unloadingPoint, String truckType, LocalDate from, LocalDate to) {
+        logger.info("Fetching lane rates - loadingPoint: {}, unloadingPoint: {}, truckType: {}, from: {}, to: {}", loadingPoint, unloadingPoint, truckType, from, to);
+        QuantileSketch merged = new QuantileSketch(relativeAccuracy, maxBins);
+        String origin = locationDictionary.displayName(loadingPoint);
+        String destination = locationDictionary.displayName(unloadingPoint);
+        Map<String, NavigableMap<Long, QuantileSketch>> byTruckType = origin == null || destination == null ? null : sketches.get(new Lane(origin, destination));
+        if (byTruckType != null) {
+            long fromBucket = from == null ? Long.MIN_VALUE : bucketOfDay(from.toEpochDay());
+            long toBucket = to == null ? Long.MAX_VALUE : bucketOfDay(to.toEpochDay());
+            byTruckType.forEach((type, buckets) -> {
+                if (truckType != null && !truckType.equals(type)) {
+                    return;
+                }
+                for (QuantileSketch sketch : buckets.subMap(fromBucket, true, toBucket, true).values()) {
+                    synchronized (sketch) {
+                        merged.merge(sketch);
+                    }
+                }
+            });
+        }
+
+        LaneRateSummary summary = new LaneRateSummary();
+        summary.setLoadingPoint(loadingPoint);
+        summary.setUnloadingPoint(unloadingPoint);
+        summary.setTruckType(truckType);
+        summary.setFrom(from);
+        summary.setTo(to);
+        summary.setCount(merged.getCount());
+        summary.setRelativeAccuracy(relativeAccuracy);
+        if (merged.getCount() > 0) {
+            summary.setP50(merged.quantile(0.5));
+            summary.setP90(merged.quantile(0.9));
+            summary.setMean(merged.getMean());
+        }
+        return summary;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    public long rebuild() {
+        synchronized (changeLock) {
+            if (pendingChanges != null) {
+                throw new BusinessRuleViolationException("Lane rate sketches are already being rebuilt");
+            }
+            pendingChanges = new ArrayList<>();
+        }
+        logger.info("Rebuilding lane rate sketches from booking history");
+        try {
+            ConcurrentMap<Lane, ConcurrentMap<String, NavigableMap<Long, QuantileSketch>>> rebuilt = new ConcurrentHashMap<>();
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            LongAdder samples = new LongAdder();
+            int[] scanStarts = new int[shardRouter.shardCount()];
+            shardRouter.forEachShard(shard -> {
+                synchronized (changeLock) {
+                    scanStarts[shard] = pendingChanges.size();
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<Object[]> rows = bookingRepository.streamRateSamples()) {
+                        rows.map(RateSample::of).filter(Objects::nonNull).forEach(sample -> {
+                            add(rebuilt, sample);
+                            samples.increment();
+                        });
+                    }
+                    try (Stream<Object[]> rows = archivedBookingRepository.streamRateSamples()) {
+                        rows.map(RateSample::of).filter(Objects::nonNull).forEach(sample -> {
+                            add(rebuilt, sample);
+                            samples.increment();
+                        });
+                    }
+                });
+            });
+            synchronized (changeLock) {
+                // A change recorded before its shard's scan started is already in the scanned rows; later ones are
+                // not, apart from one committed in the instant between the mark and the scan's snapshot.
+                for (int i = 0; i < pendingChanges.size(); i++) {
+                    PendingChange change = pendingChanges.get(i);
+                    if (i >= scanStarts[change.shard]) {
+                        change.change.accept(rebuilt);
+                    }
+                }
+                sketches = rebuilt;
+                logger.info("Lane rate sketches rebuilt from {} bookings across {} lanes, replayed {} concurrent changes",
+                        samples.sum(), rebuilt.size(), pendingChanges.size());
+            }
+            return samples.sum();
+        } finally {
+            synchronized (changeLock) {
+                pendingChanges = null;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.rates.eviction-interval-ms:3600000}")
+    public void evictExpiredBuckets() {
+        long oldestRetained = bucketOfDay(System.currentTimeMillis() / MILLIS_PER_DAY) - retentionBuckets + 1;
+        sketches.values().forEach(byTruckType -> byTruckType.values().forEach(buckets -> buckets.headMap(oldestRetained).clear()));
+        sketches.values().forEach(byTruckType -> byTruckType.values().removeIf(Map::isEmpty));
+        sketches.values().removeIf(Map::isEmpty);
+    }
+
+    private void add(ConcurrentMap<Lane, ConcurrentMap<String, NavigableMap<Long, QuantileSketch>>> target, RateSample sample) {
+        QuantileSketch sketch = target.computeIfAbsent(sample.lane, lane -> new ConcurrentHashMap<>())
+                .computeIfAbsent(sample.truckType, type -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(bucketOf(sample.requestedAt), bucket -> new QuantileSketch(relativeAccuracy, maxBins));
+        synchronized (sketch) {
+            sketch.add(sample.rate);
+        }
+    }
+
+    private void remove(ConcurrentMap<Lane, ConcurrentMap<String, NavigableMap<Long, QuantileSketch>>> target, RateSample sample) {
+        Map<String, NavigableMap<Long, QuantileSketch>> byTruckType = target.get(sample.lane);
+        NavigableMap<Long, QuantileSketch> buckets = byTruckType == null ? null : byTruckType.get(sample.truckType);
+        QuantileSketch sketch = buckets == null ? null : buckets.get(bucketOf(sample.requestedAt));
+        boolean removed = false;
+        if (sketch != null) {
+            synchronized (sketch) {
+                removed = sketch.remove(sample.rate);
+            }
+        }
+        if (!removed) {
+            logger.debug("No rate sample {} to remove for lane {} -> {}", sample.rate, sample.lane.loadingPoint, sample.lane.unloadingPoint);
+        }
+    }
+
+    private void apply(int shard, Consumer<ConcurrentMap<Lane, ConcurrentMap<String, NavigableMap<Long, QuantileSketch>>>> change) {
+        synchronized (changeLock) {
+            change.accept(sketches);
+            if (pendingChanges != null) {
+                pendingChanges.add(new PendingChange(shard, change));
+            }
+        }
+    }
+
+    private int shardOf(Booking booking) {
+        return booking.getId() != null ? shardRouter.shardOf(booking.getId()) : ShardContext.current();
+    }
+
+    private long bucketOf(Timestamp requestedAt) {
+        return bucketOfDay(Math.floorDiv(requestedAt.getTime(), MILLIS_PER_DAY));
+    }
+
+    private long bucketOfDay(long epochDay) {
+        return Math.floorDiv(epochDay, bucketDays);
+    }
+
+    private static final class PendingChange {
+        private final int shard;
+        private final Consumer<ConcurrentMap<Lane, ConcurrentMap<String, NavigableMap<Long, QuantileSketch>>>> change;
+
+        private PendingChange(int shard, Consumer<ConcurrentMap<Lane, ConcurrentMap<String, NavigableMap<Long, QuantileSketch>>>> change) {
+            this.shard = shard;
+            this.change = change;
+        }
+    }
+
+    private static final class Lane {
+        private final String loadingPoint;
+        private final String unloadingPoint;
+
+        private Lane(String loadingPoint, String unloadingPoint) {
+            this.loadingPoint = loadingPoint;
+            this.unloadingPoint = unloadingPoint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Lane lane)) {
+                return false;
+            }
+            return Objects.equals(loadingPoint, lane.loadingPoint) && Objects.equals(unloadingPoint, lane.unloadingPoint);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(loadingPoint, unloadingPoint);
+        }
+    }
+
+    private static final class RateSample {
+        private final Lane lane;
+        private final String truckType;
+        private final double rate;
+        private final Timestamp requestedAt;
+
+        private RateSample(Lane lane, String truckType, double rate, Timestamp requestedAt) {
+            this.lane = lane;
+            this.truckType = truckType;
+            this.rate = rate;
+            this.requestedAt = requestedAt;
+        }
+
+        private static RateSample of(Booking booking) {
+            return of(booking, booking.getProposedRate());
+        }
+
+        private static RateSample of(Booking booking, double rate) {
+            Load load = booking.getLoad();
+            if (load == null || load.getFacility() == null || load.getTruckType() == null || booking.getRequestedAt() == null || rate <= 0) {
+                return null;
+            }
+            return new RateSample(new Lane(load.getFacility().getLoadingPoint(), load.getFacility().getUnloadingPoint()),
+                    load.getTruckType(), rate, booking.getRequestedAt());
+        }
+
+        private static RateSample of(Object[] row) {
+            if (row[2] == null || row[3] == null || row[4] == null || ((Number) row[3]).doubleValue() <= 0) {
+                return null;
+            }
+            return new RateSample(new Lane((String) row[0], (String) row[1]), (String) row[2], ((Number) row[3]).doubleValue(), (Timestamp) row[4]);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.aman.booking.sharding;
+
+public class HashShardMap implements ShardMap {
+
+    private final int shardCount;
+
+    public HashShardMap(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public int shardCount() {
+        return shardCount;
+    }
+
+    @Override
+    public int shardFor(String shipperId) {
+        if (shardCount == 1 || shipperId == null) {
+            return 0;
+        }
+        // String.hashCode is fixed by the language spec, so the mapping is stable across restarts
+        int hash = shipperId.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return Math.floorMod(hash, shardCount);
+    }
+}
@@ -0,0 +1,30 @@
+package com.aman.booking.sharding;
+
+import java.util.UUID;
+
+/**
+ * Sharded ids are random UUIDs whose top 16 bits hold the shard number, so a lookup by id goes straight to its
+ * shard. They carry version 8, the custom UUID version, which tells them apart from the random version 4 ids of
+ * rows stored before sharding; the variant bits are left untouched.
+ */
+public final class ShardIds {
+
+    private static final int SHARDED_VERSION = 8;
+
+    private ShardIds() {
+    }
+
+    public static UUID randomId(int shard) {
+        UUID random = UUID.randomUUID();
+        long mostSignificantBits = (random.getMostSignificantBits() & 0x0000FFFFFFFF0FFFL) | ((long) shard << 48) | (SHARDED_VERSION << 12);
+        return new UUID(mostSignificantBits, random.getLeastSignificantBits());
+    }
+
+    public static boolean isSharded(UUID id) {
+        return id.version() == SHARDED_VERSION;
+    }
+
+    public static int shardOf(UUID id) {
+        return (int) (id.getMostSignificantBits() >>> 48);
+    }
+}
@@ -0,0 +1,16 @@
+package com.aman.booking.sharding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the first parameter of a service method as the value that selects its shard: a load or booking id, a
+ * {@code Load} (by shipper) or a {@code Booking} (by its load). The method runs with {@link ShardContext} set, so
+ * any transaction it starts uses that shard.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface ShardKey {
+}
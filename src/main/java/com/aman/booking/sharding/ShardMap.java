@@ -0,0 +1,12 @@
+package com.aman.booking.sharding;
+
+/**
+ * Maps a shipper to the shard holding its loads and their bookings. Define a bean of this type to replace the
+ * default {@link HashShardMap}, for example with a directory that pins large shippers to their own shard.
+ */
+public interface ShardMap {
+
+    int shardCount();
+
+    int shardFor(String shipperId);
+}
@@ -0,0 +1,200 @@
+package com.aman.booking.sharding;
+
+import com.aman.booking.bulkhead.BulkheadContext;
+import com.aman.booking.bulkhead.BulkheadType;
+import com.aman.booking.entity.Booking;
+import com.aman.booking.entity.Load;
+import com.aman.booking.repository.BookingRepository;
+import com.aman.booking.repository.LoadRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Resolves shards for shippers, ids and entities, and runs queries on one shard or on all of them. Queries
+ * without a shipper are sent to every shard in parallel and their results concatenated in shard order.
+ */
+@Component
+public class ShardRouter {
+    private static final Logger logger = LoggerFactory.getLogger(ShardRouter.class);
+
+    private static final int MAX_LOCATED_IDS = 10_000;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Value("${sharding.scatter-threads:8}")
+    private int scatterThreads;
+
+    private ExecutorService scatterExecutor;
+
+    // shards found for ids that do not name a configured shard, most recently used last
+    private final Map<UUID, Integer> locatedIds = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Integer> eldest) {
+            return size() > MAX_LOCATED_IDS;
+        }
+    });
+
+    @PostConstruct
+    void init() {
+        if (shardMap.shardCount() > 1) {
+            scatterExecutor = Executors.newFixedThreadPool(scatterThreads);
+        }
+        logger.info("Shard router started with {} shards", shardMap.shardCount());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+
+    public int shardCount() {
+        return shardMap.shardCount();
+    }
+
+    public int shardFor(String shipperId) {
+        return shardMap.shardFor(shipperId);
+    }
+
+    /**
+     * Returns the shard holding the load or booking with this id. Ids minted for a configured shard go straight to
+     * it. Ids from before sharding, or minted for a shard that is not configured, are looked up on every shard and
+     * the answer is cached; an id found nowhere goes to shard 0, where the caller's own lookup finds nothing.
+     */
+    public int shardOf(UUID id) {
+        if (shardCount() == 1) {
+            return 0;
+        }
+        if (ShardIds.isSharded(id)) {
+            int shard = ShardIds.shardOf(id);
+            if (shard < shardCount()) {
+                return shard;
+            }
+        }
+        return locate(id);
+    }
+
+    private int locate(UUID id) {
+        Integer cached = locatedIds.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        List<Integer> found = scatter(IntStream.range(0, shardCount()).boxed().collect(Collectors.toList()),
+                shard -> loadRepository.existsById(id) || bookingRepository.existsById(id) ? List.of(shard) : List.of());
+        if (found.isEmpty()) {
+            logger.debug("Id {} is not sharded and was not found on any shard", id);
+            return 0;
+        }
+        if (found.size() > 1) {
+            logger.warn("Id {} exists on shards {}, using shard {}", id, found, found.get(0));
+        }
+        locatedIds.put(id, found.get(0));
+        return found.get(0);
+    }
+
+    int shardOfKey(Object key) {
+        if (key instanceof UUID id) {
+            return shardOf(id);
+        }
+        if (key instanceof Load load) {
+            return load.getId() != null ? shardOf(load.getId()) : shardFor(load.getShipperId());
+        }
+        if (key instanceof Booking booking) {
+            if (booking.getId() != null) {
+                return shardOf(booking.getId());
+            }
+            return booking.getLoad() == null ? 0 : shardOfKey(booking.getLoad());
+        }
+        if (key instanceof String shipperId) {
+            return shardFor(shipperId);
+        }
+        throw new IllegalArgumentException("Cannot resolve a shard from " + (key == null ? "null" : key.getClass().getName()));
+    }
+
+    /**
+     * Runs the action once per shard, one shard at a time.
+     */
+    public void forEachShard(IntConsumer action) {
+        for (int shard = 0; shard < shardCount(); shard++) {
+            int current = shard;
+            ShardContext.run(shard, () -> action.accept(current));
+        }
+    }
+
+    /**
+     * Runs the query on the shipper's shard, or on every shard when no shipper is given.
+     */
+    public <T> List<T> gather(String shipperId, Supplier<List<T>> query) {
+        if (shipperId != null) {
+            return ShardContext.call(shardFor(shipperId), query);
+        }
+        return scatter(query);
+    }
+
+    public <T> List<T> scatter(Supplier<List<T>> query) {
+        return scatter(IntStream.range(0, shardCount()).boxed().collect(Collectors.toList()), shard -> query.get());
+    }
+
+    /**
+     * Runs the query on each of the given shards and concatenates the results in the order of the shards. With more
+     * than one shard configured every query runs on a scatter thread, outside any transaction or entity manager the
+     * caller holds, so it always gets a connection from its own shard.
+     */
+    public <T> List<T> scatter(Collection<Integer> shards, IntFunction<List<T>> query) {
+        if (shardCount() == 1) {
+            return shards.isEmpty() ? new ArrayList<>() : ShardContext.call(0, () -> query.apply(0));
+        }
+        BulkheadType bulkhead = BulkheadContext.current();
+        List<Future<List<T>>> futures = new ArrayList<>(shards.size());
+        for (int shard : shards) {
+            futures.add(scatterExecutor.submit(() -> BulkheadContext.call(bulkhead, () -> ShardContext.call(shard, () -> query.apply(shard)))));
+        }
+        List<T> result = new ArrayList<>();
+        try {
+            for (Future<List<T>> future : futures) {
+                result.addAll(future.get());
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Shard query failed", e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shard queries", e);
+        }
+        return result;
+    }
+}
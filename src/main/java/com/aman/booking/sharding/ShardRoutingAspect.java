@@ -0,0 +1,32 @@
+package com.aman.booking.sharding;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sets the shard for service methods with a {@link ShardKey} parameter. It runs before the transaction advice so
+ * the transaction gets its connection from the right shard.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ShardRoutingAspect {
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Around("execution(* com.aman.booking.service..*(@com.aman.booking.sharding.ShardKey (*), ..))")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Integer previous = ShardContext.swap(shardRouter.shardOfKey(joinPoint.getArgs()[0]));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.aman.booking.sharding;
+
+import com.aman.booking.bulkhead.BulkheadContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Each shard has a primary pool and a smaller pool used only by READ bulkhead calls.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static String key(int shard, boolean read) {
+        return read ? shard + "-read" : String.valueOf(shard);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return key(ShardContext.current(), BulkheadContext.isRead());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
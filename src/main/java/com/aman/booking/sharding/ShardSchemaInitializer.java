@@ -0,0 +1,53 @@
+package com.aman.booking.sharding;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.relational.SchemaManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate only applies {@code ddl-auto} to the connection it sees at startup, which is shard 0. This applies the
+ * same setting to the other shards.
+ */
+@Component
+public class ShardSchemaInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${spring.jpa.hibernate.ddl-auto:none}")
+    private String ddlAuto;
+
+    @PostConstruct
+    void initializeShards() {
+        if (shardRouter.shardCount() == 1) {
+            return;
+        }
+        SchemaManager schemaManager = entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager();
+        for (int shard = 1; shard < shardRouter.shardCount(); shard++) {
+            int current = shard;
+            ShardContext.run(shard, () -> {
+                switch (ddlAuto) {
+                    case "create", "create-drop" -> {
+                        schemaManager.dropMappedObjects(false);
+                        schemaManager.exportMappedObjects(false);
+                        logger.info("Created schema on shard {}", current);
+                    }
+                    case "validate" -> schemaManager.validateMappedObjects();
+                    case "none" -> {
+                    }
+                    default -> logger.warn("ddl-auto={} is not applied to shard {}; migrate it separately", ddlAuto, current);
+                }
+            });
+        }
+    }
+}
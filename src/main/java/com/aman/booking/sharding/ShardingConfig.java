@@ -0,0 +1,73 @@
+package com.aman.booking.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Shard 0 is the database configured under {@code spring.datasource}; {@code sharding.extra-urls} adds one shard
+ * per JDBC url, using the same credentials. Global tables such as locations and import jobs live on shard 0.
+ */
+@Configuration
+public class ShardingConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfig.class);
+
+    @Value("${sharding.extra-urls:}")
+    private String[] extraUrls;
+
+    @Value("${sharding.max-pool-size:10}")
+    private int maxPoolSize;
+
+    @Value("${bulkhead.read.pool-size:12}")
+    private int readPoolSize;
+
+    @Bean
+    @ConditionalOnMissingBean(ShardMap.class)
+    public ShardMap shardMap() {
+        return new HashShardMap(1 + extraUrls().size());
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties) {
+        List<String> urls = new ArrayList<>();
+        urls.add(properties.determineUrl());
+        urls.addAll(extraUrls());
+        Map<Object, Object> pools = new HashMap<>();
+        for (int shard = 0; shard < urls.size(); shard++) {
+            pools.put(ShardRoutingDataSource.key(shard, false), pool(properties, urls.get(shard), "shard-" + shard, maxPoolSize));
+            pools.put(ShardRoutingDataSource.key(shard, true), pool(properties, urls.get(shard), "shard-" + shard + "-read", readPoolSize));
+        }
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(pools);
+        routingDataSource.setDefaultTargetDataSource(pools.get(ShardRoutingDataSource.key(0, false)));
+        logger.info("Configured {} database shards", urls.size());
+        return routingDataSource;
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, String url, String name, int size) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).url(url)
+                .driverClassName(properties.getDriverClassName())
+                .username(properties.determineUsername()).password(properties.determinePassword()).build();
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(size);
+        return dataSource;
+    }
+
+    private List<String> extraUrls() {
+        return Arrays.stream(extraUrls).map(String::trim).filter(url -> !url.isEmpty()).collect(Collectors.toList());
+    }
+}
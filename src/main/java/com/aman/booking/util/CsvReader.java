@@ -0,0 +1,114 @@
+package com.aman.booking.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader. Records are read one at a time, so memory use is bounded by the longest
+ * record rather than the file size. Quoted fields may contain separators, doubled quotes and line breaks.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final Reader reader;
+    private final StringBuilder raw = new StringBuilder();
+    private int pushback = -2;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the next record, or null at end of input.
+     */
+    public List<String> readRecord() throws IOException {
+        raw.setLength(0);
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean sawAny = false;
+        int c;
+        while ((c = read()) != -1) {
+            sawAny = true;
+            if (raw.length() > MAX_RECORD_LENGTH) {
+                throw new IOException("CSV record exceeds " + MAX_RECORD_LENGTH + " characters");
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r') {
+                int next = read();
+                if (next != '\n') {
+                    unread(next);
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (!sawAny) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Returns the raw text of the record last returned by {@link #readRecord()}, without the line terminator.
+     */
+    public String lastRawRecord() {
+        int end = raw.length();
+        while (end > 0 && (raw.charAt(end - 1) == '\n' || raw.charAt(end - 1) == '\r')) {
+            end--;
+        }
+        return raw.substring(0, end);
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushback != -2) {
+            c = pushback;
+            pushback = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c != -1) {
+            raw.append((char) c);
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        if (c != -1) {
+            raw.setLength(raw.length() - 1);
+        }
+        pushback = c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,73 @@
+package com.aman.booking.util;
+
+import com.aman.booking.exception.InvalidDataException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parses a {@code fields=} request parameter into attribute paths. Each token is either a path such as
+ * {@code facility.loadingPoint}, a group such as {@code facility} that expands to all of its paths, or a named
+ * view such as {@code summary}.
+ */
+public final class FieldSelection {
+
+    private final List<String> paths;
+    private final Map<String, List<String>> groups;
+    private final Map<String, List<String>> views;
+
+    public FieldSelection(List<String> paths, Map<String, List<String>> groups, Map<String, List<String>> views) {
+        this.paths = paths;
+        this.groups = groups;
+        this.views = views;
+    }
+
+    public List<String> resolve(String fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String token : fields.split(",")) {
+            String field = token.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (views.containsKey(field)) {
+                selected.addAll(views.get(field));
+            } else if (groups.containsKey(field)) {
+                selected.addAll(groups.get(field));
+            } else if (paths.contains(field)) {
+                selected.add(field);
+            } else {
+                throw new InvalidDataException("Unknown field: " + field);
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new InvalidDataException("At least one field must be selected");
+        }
+        return new ArrayList<>(selected);
+    }
+
+    public List<String> paths() {
+        return paths;
+    }
+
+    /**
+     * Builds a nested map from dotted paths, so {@code facility.loadingPoint} is returned the same way as in the
+     * full entity representation.
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> toNestedMap(List<String> paths, Object[] values) {
+        Map<String, Object> root = new LinkedHashMap<>();
+        for (int i = 0; i < paths.size(); i++) {
+            String[] parts = paths.get(i).split("\\.");
+            Map<String, Object> node = root;
+            for (int p = 0; p < parts.length - 1; p++) {
+                node = (Map<String, Object>) node.computeIfAbsent(parts[p], key -> new LinkedHashMap<String, Object>());
+            }
+            node.put(parts[parts.length - 1], values[i]);
+        }
+        return root;
+    }
+}
@@ -0,0 +1,180 @@
+package com.aman.booking.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Spatial index of points on a fixed latitude/longitude grid. A search only visits the cells overlapping the
+ * query's bounding box, computes great-circle distances for the points in them and keeps the nearest matches in a
+ * bounded heap. Searches run without locking; updates are serialised.
+ */
+public class GeoGridIndex<K> {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = EARTH_RADIUS_KM * Math.PI / 180;
+
+    private final double cellDegrees;
+    private final int columns;
+    private final int rows;
+    private final Map<Long, Map<K, Entry<K>>> cells = new ConcurrentHashMap<>();
+    private final Map<K, Entry<K>> entries = new ConcurrentHashMap<>();
+
+    public GeoGridIndex(double cellDegrees) {
+        if (cellDegrees <= 0 || cellDegrees > 90) {
+            throw new IllegalArgumentException("Cell size must be between 0 and 90 degrees");
+        }
+        this.cellDegrees = cellDegrees;
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+    }
+
+    public synchronized void put(K key, double latitude, double longitude, String tag) {
+        remove(key);
+        Entry<K> entry = new Entry<>(key, latitude, longitude, tag, cellOf(row(latitude), column(longitude)));
+        entries.put(key, entry);
+        cells.computeIfAbsent(entry.cell, cell -> new ConcurrentHashMap<>()).put(key, entry);
+    }
+
+    public synchronized void remove(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        Map<K, Entry<K>> cell = cells.get(entry.cell);
+        cell.remove(key);
+        if (cell.isEmpty()) {
+            cells.remove(entry.cell);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        cells.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns up to {@code limit} points within {@code radiusKm} of the origin whose tag matches, nearest first.
+     */
+    public List<Hit<K>> withinRadius(double latitude, double longitude, double radiusKm, Predicate<String> tagFilter, int limit) {
+        double latitudeDelta = radiusKm / KM_PER_DEGREE;
+        double minLatitude = latitude - latitudeDelta;
+        double maxLatitude = latitude + latitudeDelta;
+        double widest = Math.cos(Math.toRadians(Math.min(90, Math.max(Math.abs(minLatitude), Math.abs(maxLatitude)))));
+        double longitudeDelta = widest <= 0 ? 180 : Math.min(180, latitudeDelta / widest);
+        return search(minLatitude, longitude - longitudeDelta, maxLatitude, longitude + longitudeDelta, latitude, longitude,
+                entry -> distanceKm(latitude, longitude, entry.latitude, entry.longitude) <= radiusKm, tagFilter, limit);
+    }
+
+    /**
+     * Returns up to {@code limit} points inside the box whose tag matches, nearest to the origin first. A box with
+     * {@code minLongitude > maxLongitude} crosses the antimeridian.
+     */
+    public List<Hit<K>> withinBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                  double originLatitude, double originLongitude, Predicate<String> tagFilter, int limit) {
+        double eastLongitude = maxLongitude < minLongitude ? maxLongitude + 360 : maxLongitude;
+        return search(minLatitude, minLongitude, maxLatitude, eastLongitude, originLatitude, originLongitude, entry -> {
+            double entryLongitude = entry.longitude < minLongitude ? entry.longitude + 360 : entry.longitude;
+            return entry.latitude >= minLatitude && entry.latitude <= maxLatitude && entryLongitude <= eastLongitude;
+        }, tagFilter, limit);
+    }
+
+    private List<Hit<K>> search(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                double originLatitude, double originLongitude, Predicate<Entry<K>> inArea,
+                                Predicate<String> tagFilter, int limit) {
+        PriorityQueue<Hit<K>> nearest = new PriorityQueue<>(Comparator.comparingDouble((Hit<K> hit) -> hit.distanceKm).reversed());
+        int firstRow = row(Math.max(-90, minLatitude));
+        int lastRow = row(Math.min(90, maxLatitude));
+        int firstColumn = (int) Math.floor((minLongitude + 180) / cellDegrees);
+        int lastColumn = (int) Math.floor((maxLongitude + 180) / cellDegrees);
+        if (lastColumn - firstColumn + 1 >= columns) {
+            firstColumn = 0;
+            lastColumn = columns - 1;
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                Map<K, Entry<K>> cell = cells.get(cellOf(row, Math.floorMod(column, columns)));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry<K> entry : cell.values()) {
+                    if (!tagFilter.test(entry.tag) || !inArea.test(entry)) {
+                        continue;
+                    }
+                    double distance = distanceKm(originLatitude, originLongitude, entry.latitude, entry.longitude);
+                    if (nearest.size() < limit) {
+                        nearest.add(new Hit<>(entry.key, distance));
+                    } else if (distance < nearest.peek().distanceKm) {
+                        nearest.poll();
+                        nearest.add(new Hit<>(entry.key, distance));
+                    }
+                }
+            }
+        }
+        List<Hit<K>> hits = new ArrayList<>(nearest);
+        hits.sort(Comparator.comparingDouble(hit -> hit.distanceKm));
+        return hits;
+    }
+
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaLatitude / 2) * Math.sin(deltaLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * Math.sin(deltaLongitude / 2) * Math.sin(deltaLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, (int) Math.floor((latitude + 90) / cellDegrees));
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), columns);
+    }
+
+    private long cellOf(int row, int column) {
+        return (long) row * columns + column;
+    }
+
+    public static final class Hit<K> {
+        private final K key;
+        private final double distanceKm;
+
+        private Hit(K key, double distanceKm) {
+            this.key = key;
+            this.distanceKm = distanceKm;
+        }
+
+        public K key() {
+            return key;
+        }
+
+        public double distanceKm() {
+            return distanceKm;
+        }
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final double latitude;
+        private final double longitude;
+        private final String tag;
+        private final long cell;
+
+        private Entry(K key, double latitude, double longitude, String tag, long cell) {
+            this.key = key;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.tag = tag;
+            this.cell = cell;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.aman.booking.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel keyed by deadline. Each level has 64 slots and covers 64 times the span of the
+ * level below it, so scheduling and cancelling are O(1) and advancing the clock only touches the slots that
+ * are due. Entries are cascaded to a finer level when the clock reaches their coarse slot.
+ */
+public class HierarchicalTimingWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = (Long.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+
+    private final long tickMs;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private final Set<Entry<K>>[][] wheels;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMs, long startMs) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        this.tickMs = tickMs;
+        this.currentTick = startMs / tickMs;
+        this.wheels = new Set[LEVELS][SLOTS];
+    }
+
+    /**
+     * Schedules or reschedules a key. Returns false if the deadline has already passed, in which case the key
+     * is not tracked and the caller should treat it as due.
+     */
+    public synchronized boolean schedule(K key, long deadlineMs) {
+        cancel(key);
+        long deadlineTick = deadlineMs / tickMs;
+        if (deadlineTick <= currentTick) {
+            return false;
+        }
+        Entry<K> entry = new Entry<>(key, deadlineTick);
+        entries.put(key, entry);
+        place(entry, null);
+        return true;
+    }
+
+    public synchronized boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.bucket.remove(entry);
+        return true;
+    }
+
+    public synchronized boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Moves the clock forward to the given time and returns every key whose deadline has been reached.
+     */
+    public synchronized List<K> advanceTo(long nowMs) {
+        List<K> due = new ArrayList<>();
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            if (entries.isEmpty()) {
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            cascade(due);
+            drain(wheels[0][(int) (currentTick & (SLOTS - 1))], due);
+        }
+        return due;
+    }
+
+    private void cascade(List<K> due) {
+        int highest = 0;
+        while (highest + 1 < LEVELS && (currentTick & ((1L << (SLOT_BITS * (highest + 1))) - 1)) == 0) {
+            highest++;
+        }
+        for (int level = highest; level >= 1; level--) {
+            Set<Entry<K>> bucket = wheels[level][slotOf(currentTick, level)];
+            if (bucket == null || bucket.isEmpty()) {
+                continue;
+            }
+            List<Entry<K>> moved = new ArrayList<>(bucket);
+            bucket.clear();
+            for (Entry<K> entry : moved) {
+                place(entry, due);
+            }
+        }
+    }
+
+    private void drain(Set<Entry<K>> bucket, List<K> due) {
+        if (bucket == null || bucket.isEmpty()) {
+            return;
+        }
+        for (Entry<K> entry : bucket) {
+            entries.remove(entry.key);
+            due.add(entry.key);
+        }
+        bucket.clear();
+    }
+
+    private void place(Entry<K> entry, List<K> due) {
+        long diff = entry.deadlineTick ^ currentTick;
+        if (entry.deadlineTick <= currentTick || diff == 0) {
+            entries.remove(entry.key);
+            if (due != null) {
+                due.add(entry.key);
+            }
+            return;
+        }
+        int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(diff)) / SLOT_BITS;
+        int slot = slotOf(entry.deadlineTick, level);
+        Set<Entry<K>> bucket = wheels[level][slot];
+        if (bucket == null) {
+            bucket = new LinkedHashSet<>();
+            wheels[level][slot] = bucket;
+        }
+        bucket.add(entry);
+        entry.bucket = bucket;
+    }
+
+    private static int slotOf(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final long deadlineTick;
+        private Set<Entry<K>> bucket;
+
+        private Entry(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
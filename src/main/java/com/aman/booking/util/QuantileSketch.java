@@ -0,0 +1,192 @@
+package com.aman.booking.util;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch with relative-error guarantees (DDSketch). Positive values are counted in
+ * logarithmically sized bins, so any quantile is within {@code relativeAccuracy} of the true value. Memory is
+ * capped at {@code maxBins} counters; when the range grows beyond that the lowest bins are folded together,
+ * which only affects accuracy of the smallest values. Because bins are plain counts, values can also be removed;
+ * the lowest bin keeps track of how many of its values were folded in from below the range, so a removal takes a
+ * value back out of exactly the bin its addition went to.
+ */
+public class QuantileSketch {
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final int maxBins;
+
+    private long[] bins = new long[0];
+    private int offset;
+    // values below offset, counted in bins[0] alongside the values that belong there
+    private long folded;
+    private long count;
+    private double sum;
+
+    public QuantileSketch(double relativeAccuracy, int maxBins) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.maxBins = maxBins;
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    /**
+     * Removes one occurrence of the value. Returns {@code false}, leaving the sketch unchanged, when no matching
+     * value was ever added.
+     */
+    public boolean remove(double value) {
+        if (value <= 0 || Double.isNaN(value) || bins.length == 0) {
+            return false;
+        }
+        int index = index(value);
+        if (index < offset) {
+            if (folded == 0) {
+                return false;
+            }
+            folded--;
+            bins[0]--;
+        } else {
+            int position = index - offset;
+            long available = position == 0 ? bins[0] - folded : position < bins.length ? bins[position] : 0;
+            if (available == 0) {
+                return false;
+            }
+            bins[position]--;
+        }
+        count--;
+        sum -= value;
+        return true;
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other.gamma != gamma) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        for (int i = 0; i < other.bins.length; i++) {
+            long weight = i == 0 ? other.bins[0] - other.folded : other.bins[i];
+            if (weight > 0) {
+                addToBin(other.offset + i, weight);
+            }
+        }
+        if (other.folded > 0) {
+            if (bins.length == 0 || other.offset <= offset) {
+                addFolded(other.offset, other.folded);
+            } else {
+                // only known to lie below other.offset, which is where the other sketch reports them
+                addToBin(other.offset, other.folded);
+            }
+        }
+        count += other.count;
+        sum += other.sum;
+    }
+
+    public double quantile(double quantile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < bins.length; i++) {
+            seen += bins[i];
+            if (seen >= Math.max(rank, 1)) {
+                return 2 * Math.pow(gamma, offset + i) / (gamma + 1);
+            }
+        }
+        return 2 * Math.pow(gamma, offset + bins.length - 1) / (gamma + 1);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public QuantileSketch copy() {
+        QuantileSketch copy = new QuantileSketch(relativeAccuracy, maxBins);
+        copy.bins = Arrays.copyOf(bins, bins.length);
+        copy.offset = offset;
+        copy.folded = folded;
+        copy.count = count;
+        copy.sum = sum;
+        return copy;
+    }
+
+    private void add(double value, long weight) {
+        if (value <= 0 || Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Only positive finite values can be added");
+        }
+        addToBin(index(value), weight);
+        count += weight;
+        sum += value * weight;
+    }
+
+    private int index(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    private void addToBin(int index, long weight) {
+        if (bins.length == 0) {
+            bins = new long[8];
+            offset = index;
+        }
+        if (index < offset) {
+            int grow = offset - index;
+            // once values are folded below the range it cannot grow down, or they would sit above their true bins
+            if (folded > 0 || bins.length + grow > maxBins) {
+                bins[0] += weight;
+                folded += weight;
+                return;
+            }
+            long[] grown = new long[bins.length + grow];
+            System.arraycopy(bins, 0, grown, grow, bins.length);
+            bins = grown;
+            offset = index;
+        } else if (index - offset >= bins.length) {
+            int needed = index - offset + 1;
+            if (needed > maxBins) {
+                collapseLowest(needed - maxBins);
+                needed = maxBins;
+            }
+            bins = Arrays.copyOf(bins, Math.min(maxBins, Math.max(needed, bins.length * 2)));
+        }
+        bins[index - offset] += weight;
+    }
+
+    private void addFolded(int upperIndex, long weight) {
+        if (bins.length == 0) {
+            bins = new long[8];
+            offset = upperIndex;
+        }
+        bins[0] += weight;
+        folded += weight;
+    }
+
+    private void collapseLowest(int shift) {
+        long below = 0;
+        for (int i = 0; i < Math.min(shift, bins.length); i++) {
+            below += bins[i];
+        }
+        long[] shifted = new long[bins.length];
+        if (shift < bins.length) {
+            System.arraycopy(bins, shift, shifted, 0, bins.length - shift);
+        }
+        shifted[0] += below;
+        bins = shifted;
+        offset += shift;
+        folded = below;
+    }
+}
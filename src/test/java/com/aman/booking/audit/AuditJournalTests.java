@@ -0,0 +1,150 @@
+package com.aman.booking.audit;
+
+import com.aman.booking.dto.AuditEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditJournalTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void decodesEveryFieldOfARecord() throws IOException {
+		AuditJournal journal = open(4096);
+		UUID loadId = UUID.randomUUID();
+
+		journal.record(AuditEntityType.LOAD, loadId, AuditOperation.CREATE, null, "POSTED", null, "shipper-app");
+		journal.record(AuditEntityType.LOAD, loadId, AuditOperation.UPDATE, "POSTED", "BOOKED", 1250.5, "x".repeat(300));
+		journal.record(AuditEntityType.BOOKING, loadId, AuditOperation.CREATE, null, "PENDING", 1250.5, "ops");
+
+		List<AuditEntry> history = journal.getHistory(AuditEntityType.LOAD, loadId);
+		assertThat(history).hasSize(2);
+		AuditEntry created = history.get(0);
+		assertThat(created.getEntityType()).isEqualTo("LOAD");
+		assertThat(created.getEntityId()).isEqualTo(loadId);
+		assertThat(created.getOperation()).isEqualTo("CREATE");
+		assertThat(created.getOldStatus()).isNull();
+		assertThat(created.getNewStatus()).isEqualTo("POSTED");
+		assertThat(created.getRate()).isNull();
+		assertThat(created.getActor()).isEqualTo("shipper-app");
+		assertThat(created.getTimestamp()).isNotNull();
+		AuditEntry booked = history.get(1);
+		assertThat(booked.getOldStatus()).isEqualTo("POSTED");
+		assertThat(booked.getRate()).isEqualTo(1250.5);
+		assertThat(booked.getActor()).isEqualTo("x".repeat(255));
+	}
+
+	@Test
+	void rollsOverToNewSegmentsAndReadsHistoryAcrossThem() throws IOException {
+		AuditJournal journal = open(256);
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+
+		for (int i = 0; i < 10; i++) {
+			journal.record(AuditEntityType.LOAD, i % 2 == 0 ? first : second, AuditOperation.UPDATE, "S" + (i - 1), "S" + i, null, "test");
+		}
+
+		assertThat(files(".seg").size()).isGreaterThan(2);
+		assertThat(files(".idx")).hasSize(files(".seg").size() - 1);
+		assertThat(newStatuses(journal, first)).containsExactly("S0", "S2", "S4", "S6", "S8");
+		assertThat(newStatuses(journal, second)).containsExactly("S1", "S3", "S5", "S7", "S9");
+	}
+
+	@Test
+	void rebuildsTheIndexOnStartupAndKeepsAppending() throws IOException {
+		AuditJournal journal = open(256);
+		UUID loadId = UUID.randomUUID();
+		for (int i = 0; i < 7; i++) {
+			journal.record(AuditEntityType.LOAD, loadId, AuditOperation.UPDATE, null, "S" + i, null, "test");
+		}
+		journal.close();
+
+		AuditJournal reopened = open(256);
+		reopened.record(AuditEntityType.LOAD, loadId, AuditOperation.UPDATE, null, "S7", null, "test");
+
+		assertThat(newStatuses(reopened, loadId)).containsExactly("S0", "S1", "S2", "S3", "S4", "S5", "S6", "S7");
+	}
+
+	@Test
+	void discardsATornRecordAtTheEndOfTheLastSegment() throws IOException {
+		AuditJournal journal = open(4096);
+		UUID loadId = UUID.randomUUID();
+		journal.record(AuditEntityType.LOAD, loadId, AuditOperation.CREATE, null, "POSTED", null, "test");
+		journal.record(AuditEntityType.LOAD, loadId, AuditOperation.UPDATE, "POSTED", "BOOKED", 10.0, "test");
+		journal.close();
+
+		Path segment = files(".seg").get(0);
+		int end = endOfRecords(segment);
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+			ByteBuffer torn = ByteBuffer.allocate(20).putInt(60).putLong(loadId.getMostSignificantBits()).putLong(42);
+			channel.write(torn.flip(), end);
+		}
+
+		AuditJournal reopened = open(4096);
+		assertThat(newStatuses(reopened, loadId)).containsExactly("POSTED", "BOOKED");
+		reopened.record(AuditEntityType.LOAD, loadId, AuditOperation.EXPIRE, "BOOKED", "EXPIRED", null, "test");
+		reopened.close();
+
+		assertThat(newStatuses(open(4096), loadId)).containsExactly("POSTED", "BOOKED", "EXPIRED");
+		assertThat(endOfRecords(segment)).isGreaterThan(end);
+	}
+
+	@Test
+	void rewritesAMissingSegmentIndex() throws IOException {
+		AuditJournal journal = open(256);
+		UUID loadId = UUID.randomUUID();
+		for (int i = 0; i < 8; i++) {
+			journal.record(AuditEntityType.LOAD, loadId, AuditOperation.UPDATE, null, "S" + i, null, "test");
+		}
+		journal.close();
+		Files.delete(files(".idx").get(0));
+
+		AuditJournal reopened = open(256);
+
+		assertThat(files(".idx")).hasSize(files(".seg").size() - 1);
+		assertThat(newStatuses(reopened, loadId)).containsExactly("S0", "S1", "S2", "S3", "S4", "S5", "S6", "S7");
+	}
+
+	private AuditJournal open(int segmentSizeBytes) throws IOException {
+		AuditJournal journal = new AuditJournal();
+		ReflectionTestUtils.setField(journal, "enabled", true);
+		ReflectionTestUtils.setField(journal, "dir", dir.toString());
+		ReflectionTestUtils.setField(journal, "segmentSizeBytes", segmentSizeBytes);
+		journal.open();
+		return journal;
+	}
+
+	private static List<String> newStatuses(AuditJournal journal, UUID loadId) {
+		return journal.getHistory(AuditEntityType.LOAD, loadId).stream().map(AuditEntry::getNewStatus).collect(Collectors.toList());
+	}
+
+	private List<Path> files(String suffix) throws IOException {
+		try (Stream<Path> listing = Files.list(dir)) {
+			return listing.filter(file -> file.getFileName().toString().endsWith(suffix)).sorted().collect(Collectors.toList());
+		}
+	}
+
+	private static int endOfRecords(Path segment) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+		int position = 0;
+		while (position + 4 <= buffer.capacity() && buffer.getInt(position) != 0) {
+			position += buffer.getInt(position);
+		}
+		return position;
+	}
+}
@@ -0,0 +1,125 @@
+package com.aman.booking.profiling;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProfilingDataSourcePostProcessorTests {
+
+	private final ProfilingDataSourcePostProcessor postProcessor = new ProfilingDataSourcePostProcessor();
+
+	@Test
+	void proxyKeepsTheLifecycleInterfacesOfTheTarget() throws Exception {
+		StubDataSource target = new StubDataSource();
+
+		Object proxy = postProcessor.postProcessAfterInitialization(target, "dataSource");
+
+		assertThat(proxy).isInstanceOf(DataSource.class).isInstanceOf(AutoCloseable.class);
+		((AutoCloseable) proxy).close();
+		assertThat(target.closed).isTrue();
+	}
+
+	@Test
+	void reportsTheSqlAndParametersOfSlowRequestsOnly() throws Exception {
+		DataSource dataSource = (DataSource) postProcessor.postProcessAfterInitialization(new StubDataSource(), "dataSource");
+
+		RequestProfiler slowProfiler = profiler(0);
+		RequestProfile slow = runQuery(slowProfiler, dataSource);
+		assertThat(slow.statements()).hasSize(1);
+		assertThat(slow.statements().get(0).sql).isEqualTo("select * from load where id = ?");
+		assertThat(slow.statements().get(0).parameters).isEqualTo(Map.of(1, "42"));
+		assertThat(slowProfiler.getSlowRequests()).hasSize(1);
+		assertThat(slowProfiler.getSlowRequests().get(0).getStatements()).hasSize(1);
+
+		RequestProfiler fastProfiler = profiler(60_000);
+		RequestProfile fast = runQuery(fastProfiler, dataSource);
+		assertThat(fast.calls(Layer.SQL)).isEqualTo(1);
+		assertThat(fastProfiler.getSlowRequests()).isEmpty();
+	}
+
+	private static RequestProfiler profiler(long slowThresholdMs) {
+		RequestProfiler profiler = new RequestProfiler();
+		ReflectionTestUtils.setField(profiler, "slowThresholdMs", slowThresholdMs);
+		ReflectionTestUtils.setField(profiler, "capacity", 10);
+		ReflectionTestUtils.setField(profiler, "maxStatements", 10);
+		return profiler;
+	}
+
+	private static RequestProfile runQuery(RequestProfiler profiler, DataSource dataSource) throws Exception {
+		RequestProfile profile = profiler.start("GET", "/load", null);
+		try (Connection connection = dataSource.getConnection()) {
+			PreparedStatement statement = connection.prepareStatement("select * from load where id = ?");
+			statement.setString(1, "42");
+			statement.executeQuery();
+		} finally {
+			profiler.finish(profile, 200);
+		}
+		return profile;
+	}
+
+	private static final class StubDataSource implements DataSource, AutoCloseable {
+		private boolean closed;
+
+		@Override
+		public Connection getConnection() {
+			return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) ->
+					method.getName().equals("prepareStatement") ? statement() : null);
+		}
+
+		private static PreparedStatement statement() {
+			return (PreparedStatement) Proxy.newProxyInstance(StubDataSource.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> null);
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) {
+			return getConnection();
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+
+		@Override
+		public PrintWriter getLogWriter() {
+			return null;
+		}
+
+		@Override
+		public void setLogWriter(PrintWriter out) {
+		}
+
+		@Override
+		public void setLoginTimeout(int seconds) {
+		}
+
+		@Override
+		public int getLoginTimeout() {
+			return 0;
+		}
+
+		@Override
+		public Logger getParentLogger() {
+			return null;
+		}
+
+		@Override
+		public <T> T unwrap(Class<T> type) {
+			return null;
+		}
+
+		@Override
+		public boolean isWrapperFor(Class<?> type) {
+			return false;
+		}
+	}
+}
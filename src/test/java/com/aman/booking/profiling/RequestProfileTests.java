@@ -0,0 +1,65 @@
+package com.aman.booking.profiling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestProfileTests {
+
+	@Test
+	void chargesEachLayerOnlyItsOwnTime() throws InterruptedException {
+		RequestProfile profile = new RequestProfile("GET", "/load", null, 10);
+
+		profile.enter(Layer.CONTROLLER);
+		profile.enter(Layer.SERVICE);
+		Thread.sleep(10);
+		profile.enter(Layer.REPOSITORY);
+		profile.enter(Layer.SQL);
+		Thread.sleep(40);
+		profile.exit();
+		profile.exit();
+		profile.exit();
+		long controllerNanos = profile.exit();
+
+		assertThat(profile.selfNanos(Layer.SQL)).isGreaterThanOrEqualTo(40_000_000L);
+		assertThat(profile.selfNanos(Layer.SERVICE)).isGreaterThanOrEqualTo(10_000_000L).isLessThan(profile.selfNanos(Layer.SQL));
+		assertThat(profile.selfNanos(Layer.REPOSITORY)).isLessThan(profile.selfNanos(Layer.SERVICE));
+		long selfTotal = 0;
+		for (Layer layer : Layer.values()) {
+			assertThat(profile.calls(layer)).isEqualTo(1);
+			selfTotal += profile.selfNanos(layer);
+		}
+		assertThat(selfTotal).isEqualTo(controllerNanos);
+	}
+
+	@Test
+	void countsStatementsRunAfterTheControllerReturnedAsSerialization() {
+		RequestProfile profile = new RequestProfile("GET", "/booking", null, 10);
+
+		profile.enter(Layer.CONTROLLER);
+		profile.enter(Layer.SQL);
+		profile.exit();
+		profile.exit();
+		profile.enter(Layer.SQL);
+		profile.exit();
+
+		assertThat(profile.calls(Layer.SQL)).isEqualTo(2);
+		assertThat(profile.serializationSqlCount()).isEqualTo(1);
+	}
+
+	@Test
+	void keepsTheLastStatementsUpToTheLimit() {
+		RequestProfile profile = new RequestProfile("GET", "/load", null, 2);
+		profile.recordStatement("select 1", Map.of(1, "a"), 5);
+		profile.recordStatement("select 2", null, 5);
+		profile.recordStatement("select 3", Map.of(1, "c"), 5);
+
+		assertThat(profile.statements()).hasSize(2);
+		assertThat(profile.statements().get(0).sql).isEqualTo("select 2");
+		assertThat(profile.statements().get(1).sql).isEqualTo("select 3");
+		assertThat(profile.statements().get(1).parameters).isEqualTo(Map.of(1, "c"));
+		assertThat(profile.droppedStatements()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,162 @@
+package com.aman.booking.repository;
+
+import com.aman.booking.dto.LaneCount;
+import com.aman.booking.dto.LoadFacets;
+import com.aman.booking.entity.Facility;
+import com.aman.booking.entity.Load;
+import com.aman.booking.service.LoadService;
+import com.aman.booking.service.LocationDictionary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class FacetRepositoryTests {
+
+	@Autowired
+	private FacetRepository facetRepository;
+
+	@Autowired
+	private LoadRepository loadRepository;
+
+	@Autowired
+	private LoadService loadService;
+
+	@Autowired
+	private LocationDictionary locationDictionary;
+
+	@Test
+	void countsLoadsPerValueOfEachDimension() {
+		save("facet-counts", "Open", "Mumbai", "Pune", "POSTED");
+		save("facet-counts", "Open", "Mumbai", "Pune", "POSTED");
+		save("facet-counts", "Container", "Delhi", "Jaipur", "BOOKED");
+		save("other-shipper", "Open", "Mumbai", "Pune", "POSTED");
+
+		List<Object[]> rows = facetRepository.countLoads(List.of("status", "truckType", "lane"), "facet-counts", null, null, null, null);
+
+		Integer mumbai = locationDictionary.find("Mumbai");
+		Integer pune = locationDictionary.find("Pune");
+		Integer delhi = locationDictionary.find("Delhi");
+		Integer jaipur = locationDictionary.find("Jaipur");
+		assertThat(rows).extracting(row -> row[0], row -> row[1], row -> row[2], row -> row[3]).containsExactlyInAnyOrder(
+				tuple(FacetRepository.TOTAL, null, null, 3L),
+				tuple("status", "POSTED", null, 2L),
+				tuple("status", "BOOKED", null, 1L),
+				tuple("truckType", "Open", null, 2L),
+				tuple("truckType", "Container", null, 1L),
+				tuple("lane", mumbai, pune, 2L),
+				tuple("lane", delhi, jaipur, 1L));
+	}
+
+	@Test
+	void appliesFiltersToEveryDimension() {
+		save("facet-filters", "Open", "Mumbai", "Pune", "POSTED");
+		save("facet-filters", "Trailer", "Mumbai", "Pune", "POSTED");
+		save("facet-filters", "Open", "Delhi", "Jaipur", "BOOKED");
+
+		List<Object[]> rows = facetRepository.countLoads(List.of("status", "productType"), "facet-filters", "Open", null,
+				locationDictionary.find("Mumbai"), null);
+
+		assertThat(rows).extracting(row -> row[0], row -> row[1], row -> row[3]).containsExactlyInAnyOrder(
+				tuple(FacetRepository.TOTAL, null, 1L),
+				tuple("status", "POSTED", 1L),
+				tuple("productType", "Steel", 1L));
+	}
+
+	@Test
+	void countsMissingValuesUnderTheirOwnKey() {
+		save("facet-nulls", "Open", "Mumbai", "Pune", "POSTED");
+		save("facet-nulls", "Open", "Mumbai", "Pune", null);
+
+		List<Object[]> rows = facetRepository.countLoads(List.of("status"), "facet-nulls", null, null, null, null);
+		assertThat(rows).extracting(row -> row[0], row -> row[1], row -> row[3]).containsExactlyInAnyOrder(
+				tuple(FacetRepository.TOTAL, null, 2L),
+				tuple("status", "POSTED", 1L),
+				tuple("status", null, 1L));
+
+		LoadFacets facets = loadService.getLoadFacets("status", 10, "facet-nulls", null, null, null, null);
+		assertThat(facets.getTotal()).isEqualTo(2);
+		assertThat(facets.getStatus()).containsEntry("POSTED", 1L).containsEntry(LoadService.NO_FACET_VALUE, 1L).doesNotContainKey("null");
+	}
+
+	@Test
+	void returnsTheBusiestLanesFirst() {
+		for (int i = 0; i < 3; i++) {
+			save("facet-lanes", "Open", "Chennai", "Bengaluru", "POSTED");
+		}
+		for (int i = 0; i < 2; i++) {
+			save("facet-lanes", "Open", "Kolkata", "Patna", "POSTED");
+		}
+		save("facet-lanes", "Open", "Surat", "Vadodara", "POSTED");
+
+		LoadFacets facets = loadService.getLoadFacets("lane", 2, "facet-lanes", null, null, null, null);
+
+		assertThat(facets.getTotal()).isEqualTo(6);
+		assertThat(facets.getLanes()).extracting(LaneCount::getLoadingPoint, LaneCount::getUnloadingPoint, LaneCount::getCount)
+				.containsExactly(tuple("Chennai", "Bengaluru", 3L), tuple("Kolkata", "Patna", 2L));
+	}
+
+	@Test
+	void postgresCountsEveryDimensionInOneGroupingSetsPass() {
+		List<String> statements = new ArrayList<>();
+		FacetRepository postgres = new FacetRepository();
+		ReflectionTestUtils.setField(postgres, "groupingSets", true);
+		ReflectionTestUtils.setField(postgres, "entityManager", Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[]{EntityManager.class}, (entityManager, emMethod, emArgs) -> {
+					statements.add((String) emArgs[0]);
+					return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Query.class}, (query, method, args) ->
+							"getResultList".equals(method.getName()) ? List.<Object>of(
+									new Object[]{1, null, 1, null, null, 5L},
+									new Object[]{0, "Open", 1, null, null, 3L},
+									new Object[]{0, null, 1, null, null, 2L},
+									new Object[]{1, null, 0, 7, 8, 4L}) : query);
+				}));
+
+		List<Object[]> counts = postgres.countLoads(List.of("truckType", "lane"), null, null, "POSTED", null, null);
+
+		assertThat(statements).containsExactly("select grouping(truck_type), truck_type, grouping(loading_point_id, unloading_point_id), "
+				+ "loading_point_id, unloading_point_id, count(*) from load where status = :status "
+				+ "group by grouping sets ((), (truck_type), (loading_point_id, unloading_point_id))");
+		assertThat(counts).extracting(row -> row[0], row -> row[1], row -> row[2], row -> row[3]).containsExactly(
+				tuple(FacetRepository.TOTAL, null, null, 5L),
+				tuple("truckType", "Open", null, 3L),
+				tuple("truckType", null, null, 2L),
+				tuple("lane", 7, 8, 4L));
+	}
+
+	private void save(String shipperId, String truckType, String loadingPoint, String unloadingPoint, String status) {
+		Instant now = Instant.now();
+		Facility facility = new Facility();
+		facility.setLoadingPoint(loadingPoint);
+		facility.setUnloadingPoint(unloadingPoint);
+		facility.setLoadingDate(Timestamp.from(now.plus(Duration.ofDays(1))));
+		facility.setUnloadingDate(Timestamp.from(now.plus(Duration.ofDays(2))));
+		locationDictionary.normalize(facility);
+
+		Load load = new Load();
+		load.setShipperId(shipperId);
+		load.setFacility(facility);
+		load.setProductType("Steel");
+		load.setTruckType(truckType);
+		load.setNoOfTrucks(1);
+		load.setWeight(10);
+		load.setDatePosted(Timestamp.from(now));
+		load.setStatus(status);
+		loadRepository.save(load);
+	}
+}
@@ -0,0 +1,143 @@
+package com.aman.booking.repository;
+
+import com.aman.booking.entity.Booking;
+import com.aman.booking.entity.Facility;
+import com.aman.booking.entity.Load;
+import com.aman.booking.exception.InvalidDataException;
+import com.aman.booking.service.ArchivalService;
+import com.aman.booking.service.BookingService;
+import com.aman.booking.service.LoadService;
+import com.aman.booking.service.LocationDictionary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"archival.batch-size=2", "archival.max-age-days=90"})
+@ActiveProfiles("h2")
+class ProjectionRepositoryTests {
+
+	@Autowired
+	private ProjectionRepository projectionRepository;
+
+	@Autowired
+	private LoadService loadService;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private ArchivalService archivalService;
+
+	@Autowired
+	private LocationDictionary locationDictionary;
+
+	@Test
+	void selectsOnlyTheRequestedLoadColumnsAsNestedMaps() {
+		Load load = createLoad("projection-loads", "Mumbai", 0);
+		createLoad("projection-loads", "Delhi", 0);
+
+		List<Map<String, Object>> rows = projectionRepository.findLoads(List.of("id", "truckType", "facility.loadingPoint"),
+				"projection-loads", null, null, "Mumbai", null);
+
+		assertThat(rows).hasSize(1);
+		Map<String, Object> row = rows.get(0);
+		assertThat(row.keySet()).containsExactly("id", "truckType", "facility");
+		assertThat(row).containsEntry("id", load.getId()).containsEntry("truckType", "Open");
+		assertThat(row.get("facility")).isEqualTo(Map.of("loadingPoint", "Mumbai"));
+	}
+
+	@Test
+	void loadViewsAndGroupsExpandToTheirColumns() {
+		createLoad("projection-views", "Mumbai", 0);
+
+		Map<String, Object> summary = loadService.getFilteredLoadFields("summary", "projection-views", null, null, null, null, false).get(0);
+		assertThat(summary.keySet()).containsExactly("id", "status", "truckType", "facility");
+		assertThat(((Map<?, ?>) summary.get("facility")).keySet()).containsExactly("loadingPoint", "unloadingPoint", "loadingDate");
+
+		Map<String, Object> facility = loadService.getFilteredLoadFields("facility", "projection-views", null, null, null, null, false).get(0);
+		assertThat(facility.keySet()).containsExactly("facility");
+		assertThat(((Map<?, ?>) facility.get("facility"))).containsEntry("loadingPoint", "Mumbai").containsEntry("unloadingPoint", "Pune")
+				.containsKeys("loadingDate", "unloadingDate", "loadingLatitude", "loadingLongitude", "unloadingLatitude", "unloadingLongitude");
+	}
+
+	@Test
+	void bookingLoadPathsJoinTheLoad() {
+		Booking booking = book(createLoad("projection-bookings", "Mumbai", 0));
+
+		List<Map<String, Object>> rows = bookingService.getFilteredBookingFields("proposedRate,load.shipperId,load.facility", null,
+				"projection-bookings", null, false);
+
+		assertThat(rows).hasSize(1);
+		Map<String, Object> row = rows.get(0);
+		assertThat(row.keySet()).containsExactly("proposedRate", "load");
+		assertThat(row).containsEntry("proposedRate", booking.getProposedRate());
+		Map<?, ?> load = (Map<?, ?>) row.get("load");
+		assertThat(load).containsEntry("shipperId", "projection-bookings");
+		assertThat((Map<?, ?>) load.get("facility")).containsEntry("loadingPoint", "Mumbai").containsEntry("unloadingPoint", "Pune");
+
+		Map<String, Object> summary = bookingService.getFilteredBookingFields("summary", null, "projection-bookings", null, false).get(0);
+		assertThat(summary.keySet()).containsExactly("id", "status", "transporterId", "proposedRate", "requestedAt", "load");
+		assertThat(summary.get("load")).isEqualTo(Map.of("id", booking.getLoad().getId()));
+	}
+
+	@Test
+	void archivedBookingLoadPathsReadTheArchivedLoad() {
+		Booking booking = book(createLoad("projection-archive", "Mumbai", 200));
+		archivalService.archiveFinishedLoads();
+
+		List<Map<String, Object>> rows = projectionRepository.findArchivedBookings(List.of("id", "load.id", "load.facility.loadingPoint"),
+				null, "projection-archive", null);
+
+		assertThat(rows).hasSize(1);
+		assertThat(rows.get(0)).containsEntry("id", booking.getId());
+		assertThat(rows.get(0).get("load")).isEqualTo(Map.of("id", booking.getLoad().getId(), "facility", Map.of("loadingPoint", "Mumbai")));
+	}
+
+	@Test
+	void unknownFieldsAreRejectedBeforeQuerying() {
+		assertThatThrownBy(() -> loadService.getFilteredLoadFields("id,secret", null, null, null, null, null, false))
+				.isInstanceOf(InvalidDataException.class).hasMessageContaining("Unknown field: secret");
+		assertThatThrownBy(() -> bookingService.getFilteredBookingFields("load.transporterId", null, null, null, false))
+				.isInstanceOf(InvalidDataException.class).hasMessageContaining("Unknown field: load.transporterId");
+	}
+
+	private Load createLoad(String shipperId, String loadingPoint, int daysAgo) {
+		Instant now = Instant.now();
+		Facility facility = new Facility();
+		facility.setLoadingPoint(loadingPoint);
+		facility.setUnloadingPoint("Pune");
+		facility.setLoadingDate(Timestamp.from(now.plus(Duration.ofDays(1))));
+		facility.setUnloadingDate(Timestamp.from(now.plus(Duration.ofDays(2))));
+		locationDictionary.normalize(facility);
+
+		Load load = new Load();
+		load.setShipperId(shipperId);
+		load.setFacility(facility);
+		load.setProductType("Steel");
+		load.setTruckType("Open");
+		load.setNoOfTrucks(1);
+		load.setWeight(10);
+		load.setDatePosted(Timestamp.from(now.minus(Duration.ofDays(daysAgo))));
+		return loadService.createLoad(load);
+	}
+
+	private Booking book(Load load) {
+		Booking booking = new Booking();
+		booking.setLoad(loadService.getLoad(load.getId()));
+		booking.setTransporterId("transporter-1");
+		booking.setProposedRate(1000);
+		booking.setStatus("PENDING");
+		booking.setRequestedAt(Timestamp.from(Instant.now()));
+		return bookingService.createBooking(booking);
+	}
+}
@@ -0,0 +1,128 @@
+package com.aman.booking.service;
+
+import com.aman.booking.entity.Booking;
+import com.aman.booking.entity.Facility;
+import com.aman.booking.entity.Load;
+import com.aman.booking.repository.ArchivedBookingRepository;
+import com.aman.booking.repository.ArchivedLoadRepository;
+import com.aman.booking.repository.BookingRepository;
+import com.aman.booking.repository.LoadRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"archival.batch-size=2", "archival.max-age-days=90"})
+@ActiveProfiles("h2")
+class ArchivalServiceTests {
+
+	@Autowired
+	private ArchivalService archivalService;
+
+	@Autowired
+	private LoadService loadService;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private LocationDictionary locationDictionary;
+
+	@Autowired
+	private LoadRepository loadRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private ArchivedLoadRepository archivedLoadRepository;
+
+	@Autowired
+	private ArchivedBookingRepository archivedBookingRepository;
+
+	@Test
+	void movesOldFinishedLoadsAndTheirBookingsInBatches() {
+		List<Booking> oldBookings = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			oldBookings.add(book(createLoad("archive-shipper", 200)));
+		}
+		Booking recentBooking = book(createLoad("archive-shipper", 10));
+		Load oldPostedLoad = createLoad("archive-shipper", 200);
+
+		archivalService.archiveFinishedLoads();
+
+		for (Booking booking : oldBookings) {
+			assertThat(loadRepository.existsById(booking.getLoad().getId())).isFalse();
+			assertThat(bookingRepository.existsById(booking.getId())).isFalse();
+			assertThat(archivedLoadRepository.existsById(booking.getLoad().getId())).isTrue();
+			assertThat(archivedBookingRepository.existsById(booking.getId())).isTrue();
+		}
+		assertThat(loadRepository.existsById(recentBooking.getLoad().getId())).isTrue();
+		assertThat(bookingRepository.existsById(recentBooking.getId())).isTrue();
+		assertThat(loadRepository.existsById(oldPostedLoad.getId())).isTrue();
+	}
+
+	@Test
+	void readsArchivedRowsOnlyWhenAsked() {
+		Booking archived = book(createLoad("history-shipper", 200));
+		Booking live = book(createLoad("history-shipper", 10));
+
+		archivalService.archiveFinishedLoads();
+
+		assertThat(loadIds(loadService.getFilteredLoads("history-shipper", null, null, null, null, false)))
+				.containsExactly(live.getLoad().getId());
+		assertThat(loadIds(loadService.getFilteredLoads("history-shipper", null, null, null, null, true)))
+				.containsExactlyInAnyOrder(live.getLoad().getId(), archived.getLoad().getId());
+
+		List<Booking> bookings = bookingService.getFilteredBookings(null, "history-shipper", null, true);
+		assertThat(bookings.stream().map(Booking::getId).collect(Collectors.toList()))
+				.containsExactlyInAnyOrder(live.getId(), archived.getId());
+		Booking archivedCopy = bookings.stream().filter(booking -> booking.getId().equals(archived.getId())).findFirst().orElseThrow();
+		assertThat(archivedCopy.getLoad().getFacility().getLoadingPoint()).isEqualTo("Mumbai");
+		assertThat(bookingService.getFilteredBookings(null, "history-shipper", null, false)).hasSize(1);
+	}
+
+	private Load createLoad(String shipperId, int daysAgo) {
+		Instant now = Instant.now();
+		Facility facility = new Facility();
+		facility.setLoadingPoint("Mumbai");
+		facility.setUnloadingPoint("Pune");
+		facility.setLoadingDate(Timestamp.from(now.plus(Duration.ofDays(1))));
+		facility.setUnloadingDate(Timestamp.from(now.plus(Duration.ofDays(2))));
+		locationDictionary.normalize(facility);
+
+		Load load = new Load();
+		load.setShipperId(shipperId);
+		load.setFacility(facility);
+		load.setProductType("Steel");
+		load.setTruckType("Open");
+		load.setNoOfTrucks(1);
+		load.setWeight(10);
+		load.setDatePosted(Timestamp.from(now.minus(Duration.ofDays(daysAgo))));
+		return loadService.createLoad(load);
+	}
+
+	private Booking book(Load load) {
+		Booking booking = new Booking();
+		booking.setLoad(loadService.getLoad(load.getId()));
+		booking.setTransporterId("transporter-1");
+		booking.setProposedRate(1000);
+		booking.setStatus("PENDING");
+		booking.setRequestedAt(Timestamp.from(Instant.now()));
+		return bookingService.createBooking(booking);
+	}
+
+	private static List<UUID> loadIds(List<Load> loads) {
+		return loads.stream().map(Load::getId).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,166 @@
+package com.aman.booking.service;
+
+import com.aman.booking.audit.AuditJournal;
+import com.aman.booking.entity.Facility;
+import com.aman.booking.entity.Load;
+import com.aman.booking.repository.LoadRepository;
+import com.aman.booking.sharding.HashShardMap;
+import com.aman.booking.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadExpiryServiceTests {
+
+	private final List<UUID> expired = new ArrayList<>();
+	private int failuresLeft;
+	private int lookups;
+	private LoadExpiryService expiryService;
+
+	@BeforeEach
+	void setUp() {
+		ShardRouter shardRouter = new ShardRouter();
+		ReflectionTestUtils.setField(shardRouter, "shardMap", new HashShardMap(1));
+
+		expiryService = new LoadExpiryService();
+		ReflectionTestUtils.setField(expiryService, "loadRepository", loadRepository());
+		ReflectionTestUtils.setField(expiryService, "auditJournal", new AuditJournal());
+		ReflectionTestUtils.setField(expiryService, "shardRouter", shardRouter);
+		ReflectionTestUtils.setField(expiryService, "geoSearchService", new GeoSearchService());
+		ReflectionTestUtils.setField(expiryService, "transactionManager", new StubTransactionManager());
+		ReflectionTestUtils.setField(expiryService, "enabled", true);
+		ReflectionTestUtils.setField(expiryService, "tickMs", 1000L);
+		ReflectionTestUtils.setField(expiryService, "batchSize", 2);
+		ReflectionTestUtils.setField(expiryService, "maxAttempts", 3);
+		ReflectionTestUtils.setField(expiryService, "retryDelayMs", 0L);
+		ReflectionTestUtils.setField(expiryService, "maxRetryDelayMs", 60_000L);
+		expiryService.init();
+	}
+
+	@Test
+	void expiresLoadsWhoseLoadingDateHasPassed() {
+		Load load = postedLoad(System.currentTimeMillis() - 1000);
+		expiryService.track(load);
+
+		expiryService.expireDueLoads();
+
+		assertThat(expired).containsExactly(load.getId());
+	}
+
+	@Test
+	void retriesAFailedBatchOneLoadAtATime() {
+		List<UUID> ids = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Load load = postedLoad(System.currentTimeMillis() - 1000);
+			expiryService.track(load);
+			ids.add(load.getId());
+		}
+		failuresLeft = 1;
+
+		expiryService.expireDueLoads();
+		assertThat(expired).containsExactly(ids.get(2));
+
+		expiryService.expireDueLoads();
+		assertThat(expired).containsExactlyInAnyOrder(ids.toArray());
+		assertThat(lookups).isEqualTo(4);
+
+		expiryService.expireDueLoads();
+		assertThat(expired).hasSize(3);
+	}
+
+	@Test
+	void backsOffBeforeRetryingAFailedLoad() {
+		ReflectionTestUtils.setField(expiryService, "retryDelayMs", 60_000L);
+		expiryService.track(postedLoad(System.currentTimeMillis() - 1000));
+		failuresLeft = 1;
+
+		expiryService.expireDueLoads();
+		expiryService.expireDueLoads();
+
+		assertThat(lookups).isEqualTo(1);
+		assertThat(expired).isEmpty();
+	}
+
+	@Test
+	void givesUpOnALoadAfterTheMaximumAttempts() {
+		Load poison = postedLoad(System.currentTimeMillis() - 1000);
+		expiryService.track(poison);
+		failuresLeft = Integer.MAX_VALUE;
+
+		for (int i = 0; i < 5; i++) {
+			expiryService.expireDueLoads();
+		}
+
+		assertThat(lookups).isEqualTo(3);
+		assertThat(expired).isEmpty();
+	}
+
+	private static Load postedLoad(long loadingDate) {
+		Facility facility = new Facility();
+		facility.setLoadingDate(new Timestamp(loadingDate));
+		Load load = new Load();
+		load.setId(UUID.randomUUID());
+		load.setStatus("POSTED");
+		load.setFacility(facility);
+		return load;
+	}
+
+	@SuppressWarnings("unchecked")
+	private LoadRepository loadRepository() {
+		return (LoadRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{LoadRepository.class}, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "findExpirableLoads" -> {
+					lookups++;
+					if (failuresLeft > 0) {
+						failuresLeft--;
+						throw new QueryTimeoutException("Lock wait timeout");
+					}
+					List<Load> loads = new ArrayList<>();
+					for (UUID id : (Collection<UUID>) args[0]) {
+						if (!expired.contains(id)) {
+							Load load = new Load();
+							load.setId(id);
+							loads.add(load);
+						}
+					}
+					return loads;
+				}
+				case "expirePostedLoads" -> {
+					expired.addAll((Collection<UUID>) args[0]);
+					return ((Collection<UUID>) args[0]).size();
+				}
+				default -> throw new UnsupportedOperationException(method.getName());
+			}
+		});
+	}
+
+	private static final class StubTransactionManager implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+}
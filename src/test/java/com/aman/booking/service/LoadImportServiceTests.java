@@ -0,0 +1,136 @@
+package com.aman.booking.service;
+
+import com.aman.booking.entity.ImportBatch;
+import com.aman.booking.entity.ImportJob;
+import com.aman.booking.repository.ImportBatchRepository;
+import com.aman.booking.repository.ImportJobRepository;
+import com.aman.booking.repository.LoadRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class LoadImportServiceTests {
+
+	private static final String HEADER = "shipperId,loadingPoint,unloadingPoint,loadingDate,unloadingDate,productType,truckType,noOfTrucks,weight,datePosted,comment\n";
+
+	@Autowired
+	private LoadImportService loadImportService;
+
+	@Autowired
+	private ImportJobRepository importJobRepository;
+
+	@Autowired
+	private ImportBatchRepository importBatchRepository;
+
+	@Autowired
+	private LoadRepository loadRepository;
+
+	@Value("${ingestion.work-dir}")
+	private String workDir;
+
+	@Test
+	void resumedJobSkipsBatchesThatAlreadyHaveAMarker() throws IOException {
+		ImportJob job = interruptedJob(HEADER
+				+ row("resume-committed", "\"first\nline\"")
+				+ row("resume-committed", "")
+				+ row("resume-pending", "\"Delhi, NCR\"")
+				+ row("resume-pending", "")
+				+ row("resume-pending", ""));
+		ImportBatch marker = new ImportBatch();
+		marker.setJobId(job.getId());
+		marker.setBatchNo(0);
+		marker.setAcceptedRows(2);
+		marker.setCommittedAt(Timestamp.from(Instant.now()));
+		importBatchRepository.save(marker);
+
+		loadImportService.run(job.getId());
+
+		ImportJob finished = importJobRepository.findById(job.getId()).orElseThrow();
+		assertThat(finished.getStatus()).isEqualTo("COMPLETED");
+		assertThat(finished.getTotalRows()).isEqualTo(5);
+		assertThat(finished.getAcceptedRows()).isEqualTo(3);
+		assertThat(finished.getCompletedBatches()).isEqualTo(2);
+		assertThat(loadRepository.findByShipperId("resume-committed")).isEmpty();
+		assertThat(loadRepository.findByShipperId("resume-pending")).hasSize(3);
+		assertThat(importBatchRepository.findBatchNosByJobId(job.getId())).containsExactlyInAnyOrder(0L, 1L, 2L);
+	}
+
+	@Test
+	void runningACompletedJobAgainInsertsNothing() throws IOException {
+		ImportJob job = interruptedJob(HEADER + row("rerun-shipper", "") + row("rerun-shipper", "") + row("rerun-shipper", ""));
+
+		loadImportService.run(job.getId());
+		loadImportService.run(job.getId());
+
+		assertThat(loadRepository.findByShipperId("rerun-shipper")).hasSize(3);
+		assertThat(importJobRepository.findById(job.getId()).orElseThrow().getAcceptedRows()).isEqualTo(3);
+	}
+
+	@Test
+	void importsPastDatedRows() throws IOException {
+		ImportJob job = interruptedJob(HEADER
+				+ "history-shipper,Mumbai,Pune,2020-01-02T08:00:00,2020-01-03T08:00:00,Steel,Open,1,10,2020-01-01T08:00:00,\n"
+				+ "history-shipper,Mumbai,,2020-01-02T08:00:00,2020-01-03T08:00:00,Steel,Open,1,10,2020-01-01T08:00:00,\n");
+
+		loadImportService.run(job.getId());
+
+		ImportJob finished = importJobRepository.findById(job.getId()).orElseThrow();
+		assertThat(finished.getStatus()).isEqualTo("COMPLETED");
+		assertThat(finished.getAcceptedRows()).isEqualTo(1);
+		assertThat(loadRepository.findByShipperId("history-shipper")).hasSize(1);
+	}
+
+	@Test
+	void startupResumeIsSkippedWhenTheSchemaIsRecreated() {
+		List<String> calls = new ArrayList<>();
+		LoadImportService service = new LoadImportService();
+		ReflectionTestUtils.setField(service, "importJobRepository", Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[]{ImportJobRepository.class}, (proxy, method, args) -> {
+					calls.add(method.getName());
+					return List.of();
+				}));
+
+		ReflectionTestUtils.setField(service, "ddlAuto", "create");
+		service.resumeInterruptedJobs();
+		assertThat(calls).isEmpty();
+
+		ReflectionTestUtils.setField(service, "ddlAuto", "validate");
+		service.resumeInterruptedJobs();
+		assertThat(calls).containsExactly("findByStatusIn");
+	}
+
+	private ImportJob interruptedJob(String csv) throws IOException {
+		Path file = Files.createDirectories(Paths.get(workDir)).resolve(UUID.randomUUID() + ".csv");
+		Files.writeString(file, csv, StandardCharsets.UTF_8);
+		ImportJob job = new ImportJob();
+		job.setFileName(file.getFileName().toString());
+		job.setFilePath(file.toAbsolutePath().toString());
+		job.setStatus("RUNNING");
+		job.setBatchSize(2);
+		job.setCreatedAt(Timestamp.from(Instant.now()));
+		return importJobRepository.save(job);
+	}
+
+	private static String row(String shipperId, String comment) {
+		return shipperId + ",Mumbai,Pune,2030-01-02T08:00:00,2030-01-03T08:00:00,Steel,Open,1,10,2030-01-01T08:00:00," + comment + "\n";
+	}
+}
@@ -0,0 +1,132 @@
+package com.aman.booking.service;
+
+import com.aman.booking.entity.Location;
+import com.aman.booking.repository.LocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocationDictionaryTests {
+
+	private final TreeMap<Integer, Location> rows = new TreeMap<>();
+	private final List<String> queries = new ArrayList<>();
+	private LocationDictionary dictionary;
+
+	@BeforeEach
+	void setUp() {
+		store(1, "Mumbai");
+		store(2, "Pune");
+		dictionary = new LocationDictionary();
+		ReflectionTestUtils.setField(dictionary, "locationRepository", locationRepository());
+		ReflectionTestUtils.setField(dictionary, "transactionManager", new StubTransactionManager());
+		ReflectionTestUtils.setField(dictionary, "gapTimeoutMs", 600_000L);
+		dictionary.load();
+		queries.clear();
+	}
+
+	@Test
+	void unknownIdsAreReadOnceAndCached() {
+		store(3, "Nashik");
+
+		assertThat(dictionary.nameOf(3)).isEqualTo("Nashik");
+		assertThat(dictionary.nameOf(3)).isEqualTo("Nashik");
+		assertThat(dictionary.find("nashik")).isEqualTo(3);
+		assertThat(queries).containsExactly("findById");
+	}
+
+	@Test
+	void anIdWithNoLocationResolvesToNull() {
+		assertThat(dictionary.nameOf(99)).isNull();
+		assertThat(dictionary.nameOf(1)).isEqualTo("Mumbai");
+	}
+
+	@Test
+	void refreshPicksUpIdsThatCommitAfterAHigherOne() {
+		store(4, "Nagpur");
+		dictionary.refresh();
+		assertThat(dictionary.find("Nagpur")).isEqualTo(4);
+
+		store(3, "Nashik");
+		dictionary.refresh();
+		assertThat(dictionary.find("Nashik")).isEqualTo(3);
+
+		queries.clear();
+		dictionary.refresh();
+		assertThat(queries).containsExactly("findByIdGreaterThan");
+	}
+
+	@Test
+	void gapsAreGivenUpOnAfterTheTimeout() {
+		store(4, "Nagpur");
+		dictionary.refresh();
+		ReflectionTestUtils.setField(dictionary, "gapTimeoutMs", -1L);
+
+		queries.clear();
+		dictionary.refresh();
+		assertThat(queries).containsExactly("findByIdGreaterThan");
+	}
+
+	private void store(int id, String name) {
+		Location location = new Location();
+		location.setId(id);
+		location.setName(name);
+		location.setCanonicalName(LocationDictionary.canonicalize(name));
+		rows.put(id, location);
+	}
+
+	@SuppressWarnings("unchecked")
+	private LocationRepository locationRepository() {
+		return (LocationRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{LocationRepository.class}, (proxy, method, args) -> {
+			queries.add(method.getName());
+			switch (method.getName()) {
+				case "findAll" -> {
+					return new ArrayList<>(rows.values());
+				}
+				case "findById" -> {
+					return Optional.ofNullable(rows.get((Integer) args[0]));
+				}
+				case "findByIdGreaterThan" -> {
+					return new ArrayList<>(rows.tailMap((Integer) args[0], false).values());
+				}
+				case "findAllById" -> {
+					List<Location> found = new ArrayList<>();
+					for (Integer id : (Iterable<Integer>) args[0]) {
+						if (rows.containsKey(id)) {
+							found.add(rows.get(id));
+						}
+					}
+					return found;
+				}
+				default -> throw new UnsupportedOperationException(method.getName());
+			}
+		});
+	}
+
+	private static final class StubTransactionManager implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package com.aman.booking.service;
+
+import com.aman.booking.entity.Booking;
+import com.aman.booking.entity.Facility;
+import com.aman.booking.entity.Load;
+import com.aman.booking.entity.Location;
+import com.aman.booking.repository.LocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateAnalyticsServiceTests {
+
+	private RateAnalyticsService rateAnalyticsService;
+
+	@BeforeEach
+	void setUp() {
+		LocationDictionary locationDictionary = new LocationDictionary();
+		ReflectionTestUtils.setField(locationDictionary, "locationRepository", Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[]{LocationRepository.class}, (proxy, method, args) -> {
+					List<Location> locations = new ArrayList<>();
+					locations.add(location(1, "Mumbai"));
+					locations.add(location(2, "Pune"));
+					return locations;
+				}));
+		locationDictionary.load();
+
+		rateAnalyticsService = new RateAnalyticsService();
+		ReflectionTestUtils.setField(rateAnalyticsService, "locationDictionary", locationDictionary);
+		ReflectionTestUtils.setField(rateAnalyticsService, "relativeAccuracy", 0.01);
+		ReflectionTestUtils.setField(rateAnalyticsService, "maxBins", 512);
+		ReflectionTestUtils.setField(rateAnalyticsService, "bucketDays", 7);
+	}
+
+	@Test
+	void aRateChangeReplacesThePreviousSample() {
+		Booking booking = booking(1000);
+		rateAnalyticsService.recordBooking(booking);
+
+		booking.setProposedRate(1500);
+		rateAnalyticsService.recordRateChange(booking, 1000);
+
+		assertThat(rateAnalyticsService.getLaneRates("Mumbai", "Pune", null, null, null).getCount()).isEqualTo(1L);
+		assertThat(rateAnalyticsService.getLaneRates("Mumbai", "Pune", null, null, null).getP50()).isBetween(1485.0, 1515.0);
+	}
+
+	@Test
+	void aRateChangedToZeroStillRemovesThePreviousSample() {
+		Booking booking = booking(1000);
+		rateAnalyticsService.recordBooking(booking);
+
+		booking.setProposedRate(0);
+		rateAnalyticsService.recordRateChange(booking, 1000);
+
+		assertThat(rateAnalyticsService.getLaneRates("Mumbai", "Pune", null, null, null).getCount()).isEqualTo(0L);
+	}
+
+	@Test
+	void aRateChangedFromZeroIsAddedWithoutARemoval() {
+		Booking booking = booking(0);
+		rateAnalyticsService.recordBooking(booking);
+
+		booking.setProposedRate(1200);
+		rateAnalyticsService.recordRateChange(booking, 0);
+
+		assertThat(rateAnalyticsService.getLaneRates("Mumbai", "Pune", null, null, null).getCount()).isEqualTo(1L);
+	}
+
+	private static Booking booking(double rate) {
+		Facility facility = new Facility();
+		facility.setLoadingPoint("Mumbai");
+		facility.setUnloadingPoint("Pune");
+		Load load = new Load();
+		load.setFacility(facility);
+		load.setTruckType("Open");
+		Booking booking = new Booking();
+		booking.setLoad(load);
+		booking.setProposedRate(rate);
+		booking.setRequestedAt(Timestamp.from(Instant.now()));
+		return booking;
+	}
+
+	private static Location location(int id, String name) {
+		Location location = new Location();
+		location.setId(id);
+		location.setName(name);
+		location.setCanonicalName(LocationDictionary.canonicalize(name));
+		return location;
+	}
+}
@@ -0,0 +1,81 @@
+package com.aman.booking.sharding;
+
+import com.aman.booking.repository.BookingRepository;
+import com.aman.booking.repository.LoadRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardRouterTests {
+
+	private final Map<UUID, Integer> loadShards = new ConcurrentHashMap<>();
+	private final AtomicInteger lookups = new AtomicInteger();
+	private ShardRouter shardRouter;
+
+	@BeforeEach
+	void setUp() {
+		shardRouter = new ShardRouter();
+		ReflectionTestUtils.setField(shardRouter, "shardMap", new HashShardMap(2));
+		ReflectionTestUtils.setField(shardRouter, "scatterThreads", 2);
+		ReflectionTestUtils.setField(shardRouter, "loadRepository", repository(LoadRepository.class, loadShards));
+		ReflectionTestUtils.setField(shardRouter, "bookingRepository", repository(BookingRepository.class, Map.of()));
+		shardRouter.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		shardRouter.shutdown();
+	}
+
+	@Test
+	void shardedIdsGoStraightToTheirShard() {
+		UUID id = ShardIds.randomId(1);
+
+		assertThat(ShardIds.isSharded(id)).isTrue();
+		assertThat(id.variant()).isEqualTo(2);
+		assertThat(shardRouter.shardOf(id)).isEqualTo(1);
+		assertThat(lookups.get()).isEqualTo(0);
+	}
+
+	@Test
+	void idsFromBeforeShardingAreLookedUpOnceOnEveryShard() {
+		UUID id = UUID.randomUUID();
+		loadShards.put(id, 1);
+
+		assertThat(ShardIds.isSharded(id)).isFalse();
+		assertThat(shardRouter.shardOf(id)).isEqualTo(1);
+		int firstLookups = lookups.get();
+		assertThat(firstLookups).isGreaterThan(0);
+		assertThat(shardRouter.shardOf(id)).isEqualTo(1);
+		assertThat(lookups.get()).isEqualTo(firstLookups);
+	}
+
+	@Test
+	void idsForAShardThatIsNotConfiguredAreNotWrappedOntoAnother() {
+		UUID moved = ShardIds.randomId(3);
+		loadShards.put(moved, 1);
+
+		assertThat(shardRouter.shardOf(moved)).isEqualTo(1);
+		assertThat(shardRouter.shardOf(ShardIds.randomId(3))).isEqualTo(0);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T repository(Class<T> type, Map<UUID, Integer> shards) {
+		return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+			if (!"existsById".equals(method.getName())) {
+				throw new UnsupportedOperationException(method.getName());
+			}
+			lookups.incrementAndGet();
+			return Integer.valueOf(ShardContext.current()).equals(shards.get((UUID) args[0]));
+		});
+	}
+}
@@ -0,0 +1,115 @@
+package com.aman.booking.sharding;
+
+import com.aman.booking.entity.Facility;
+import com.aman.booking.entity.Load;
+import com.aman.booking.repository.LoadRepository;
+import com.aman.booking.service.LoadService;
+import com.aman.booking.service.LocationDictionary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "sharding.extra-urls=jdbc:h2:mem:shard1-${random.uuid};MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ShardRoutingTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private LoadService loadService;
+
+	@Autowired
+	private LoadRepository loadRepository;
+
+	@Autowired
+	private ShardRouter shardRouter;
+
+	@Autowired
+	private LocationDictionary locationDictionary;
+
+	@Test
+	void storesEachLoadOnlyOnItsShippersShard() {
+		Map<Integer, Load> loads = oneLoadPerShard("Trailer");
+
+		for (Map.Entry<Integer, Load> entry : loads.entrySet()) {
+			UUID loadId = entry.getValue().getId();
+			assertThat(shardRouter.shardOf(loadId)).isEqualTo(entry.getKey());
+			assertThat(ShardContext.call(entry.getKey(), () -> loadRepository.existsById(loadId))).isTrue();
+			assertThat(ShardContext.call(1 - entry.getKey(), () -> loadRepository.existsById(loadId))).isFalse();
+		}
+	}
+
+	@Test
+	void listRequestReturnsLoadsFromEveryShard() throws Exception {
+		Map<Integer, Load> loads = oneLoadPerShard("Container");
+
+		mockMvc.perform(get("/load").param("truckType", "Container"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].id", containsInAnyOrder(ids(loads))));
+	}
+
+	@Test
+	void nearbyRequestReturnsLoadsFromEveryShard() throws Exception {
+		Map<Integer, Load> loads = oneLoadPerShard("Flatbed");
+
+		mockMvc.perform(get("/load/nearby").param("lat", "19.07").param("lon", "72.88").param("radiusKm", "5").param("truckType", "Flatbed"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].load.id", containsInAnyOrder(ids(loads))));
+	}
+
+	private Map<Integer, Load> oneLoadPerShard(String truckType) {
+		Map<Integer, Load> loads = new TreeMap<>();
+		for (int i = 0; loads.size() < shardRouter.shardCount(); i++) {
+			String shipperId = truckType + "-shipper-" + i;
+			loads.computeIfAbsent(shardRouter.shardFor(shipperId), shard -> {
+				Load load = load(shipperId, truckType);
+				locationDictionary.normalize(load.getFacility());
+				return loadService.createLoad(load);
+			});
+		}
+		return loads;
+	}
+
+	private static String[] ids(Map<Integer, Load> loads) {
+		return loads.values().stream().map(load -> load.getId().toString()).toArray(String[]::new);
+	}
+
+	static Load load(String shipperId, String truckType) {
+		Instant now = Instant.now();
+		Facility facility = new Facility();
+		facility.setLoadingPoint("Mumbai");
+		facility.setUnloadingPoint("Pune");
+		facility.setLoadingDate(Timestamp.from(now.plus(Duration.ofDays(1))));
+		facility.setUnloadingDate(Timestamp.from(now.plus(Duration.ofDays(2))));
+		facility.setLoadingLatitude(19.07);
+		facility.setLoadingLongitude(72.88);
+
+		Load load = new Load();
+		load.setShipperId(shipperId);
+		load.setFacility(facility);
+		load.setProductType("Steel");
+		load.setTruckType(truckType);
+		load.setNoOfTrucks(1);
+		load.setWeight(10);
+		load.setDatePosted(Timestamp.from(now));
+		return load;
+	}
+}
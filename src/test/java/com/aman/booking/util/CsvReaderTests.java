@@ -0,0 +1,58 @@
+package com.aman.booking.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTests {
+
+	@Test
+	void readsPlainRecordsWithEmptyFields() throws IOException {
+		CsvReader csv = new CsvReader(new StringReader("a,b,c\n1,,3\n,,\n"));
+
+		assertThat(csv.readRecord()).containsExactly("a", "b", "c");
+		assertThat(csv.readRecord()).containsExactly("1", "", "3");
+		assertThat(csv.readRecord()).containsExactly("", "", "");
+		assertThat(csv.readRecord()).isNull();
+	}
+
+	@Test
+	void quotedFieldsKeepSeparatorsAndDoubledQuotes() throws IOException {
+		CsvReader csv = new CsvReader(new StringReader("\"Delhi, NCR\",\"say \"\"hi\"\"\",\"\"\n"));
+
+		assertThat(csv.readRecord()).containsExactly("Delhi, NCR", "say \"hi\"", "");
+		assertThat(csv.lastRawRecord()).isEqualTo("\"Delhi, NCR\",\"say \"\"hi\"\"\",\"\"");
+	}
+
+	@Test
+	void quotedFieldsMaySpanLines() throws IOException {
+		CsvReader csv = new CsvReader(new StringReader("S1,\"first line\nsecond line\",x\r\nS2,\"a\r\nb\",y"));
+
+		assertThat(csv.readRecord()).containsExactly("S1", "first line\nsecond line", "x");
+		assertThat(csv.lastRawRecord()).isEqualTo("S1,\"first line\nsecond line\",x");
+		assertThat(csv.readRecord()).containsExactly("S2", "a\r\nb", "y");
+		assertThat(csv.lastRawRecord()).isEqualTo("S2,\"a\r\nb\",y");
+		assertThat(csv.readRecord()).isNull();
+	}
+
+	@Test
+	void acceptsCrLfAndBareCrLineEndings() throws IOException {
+		CsvReader csv = new CsvReader(new StringReader("a,b\r\nc,d\re,f"));
+
+		assertThat(csv.readRecord()).containsExactly("a", "b");
+		assertThat(csv.readRecord()).containsExactly("c", "d");
+		assertThat(csv.readRecord()).containsExactly("e", "f");
+		assertThat(csv.readRecord()).isNull();
+	}
+
+	@Test
+	void rejectsRecordsLongerThanTheLimit() {
+		CsvReader csv = new CsvReader(new StringReader("\"" + "x".repeat(70 * 1024) + "\"\n"));
+
+		assertThatThrownBy(csv::readRecord).isInstanceOf(IOException.class).hasMessageContaining("exceeds");
+	}
+}
@@ -0,0 +1,69 @@
+package com.aman.booking.util;
+
+import com.aman.booking.exception.InvalidDataException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FieldSelectionTests {
+
+	private final FieldSelection selection = new FieldSelection(
+			List.of("id", "status", "facility.loadingPoint", "facility.unloadingPoint", "load.id", "load.facility.loadingPoint"),
+			Map.of("facility", List.of("facility.loadingPoint", "facility.unloadingPoint"),
+					"load", List.of("load.id", "load.facility.loadingPoint"),
+					"load.facility", List.of("load.facility.loadingPoint")),
+			Map.of("summary", List.of("id", "status", "facility.loadingPoint")));
+
+	@Test
+	void resolvesPathsInRequestOrderWithoutDuplicates() {
+		assertThat(selection.resolve(" status , id,,status,facility.unloadingPoint "))
+				.containsExactly("status", "id", "facility.unloadingPoint");
+	}
+
+	@Test
+	void expandsViewsAndGroups() {
+		assertThat(selection.resolve("summary")).containsExactly("id", "status", "facility.loadingPoint");
+		assertThat(selection.resolve("facility,id")).containsExactly("facility.loadingPoint", "facility.unloadingPoint", "id");
+		assertThat(selection.resolve("summary,facility")).containsExactly("id", "status", "facility.loadingPoint", "facility.unloadingPoint");
+		assertThat(selection.resolve("load")).containsExactly("load.id", "load.facility.loadingPoint");
+		assertThat(selection.resolve("load.facility,load.id")).containsExactly("load.facility.loadingPoint", "load.id");
+	}
+
+	@Test
+	void rejectsUnknownFields() {
+		assertThatThrownBy(() -> selection.resolve("id,password")).isInstanceOf(InvalidDataException.class)
+				.hasMessageContaining("Unknown field: password");
+		assertThatThrownBy(() -> selection.resolve("facility.comment")).isInstanceOf(InvalidDataException.class)
+				.hasMessageContaining("Unknown field: facility.comment");
+		assertThatThrownBy(() -> selection.resolve("load.shipperId")).isInstanceOf(InvalidDataException.class);
+		assertThatThrownBy(() -> selection.resolve("Summary")).isInstanceOf(InvalidDataException.class);
+	}
+
+	@Test
+	void rejectsAnEmptySelection() {
+		assertThatThrownBy(() -> selection.resolve(" , ,")).isInstanceOf(InvalidDataException.class)
+				.hasMessageContaining("At least one field");
+	}
+
+	@Test
+	void nestsDottedPathsLikeTheEntityJson() {
+		Map<String, Object> row = FieldSelection.toNestedMap(List.of("id", "facility.loadingPoint", "load.facility.unloadingPoint", "facility.unloadingPoint"),
+				new Object[]{7, "Mumbai", "Pune", null});
+
+		assertThat(row).containsEntry("id", 7);
+		assertThat(row.get("facility")).isEqualTo(mapOf("loadingPoint", "Mumbai", "unloadingPoint", null));
+		assertThat(row.get("load")).isEqualTo(Map.of("facility", Map.of("unloadingPoint", "Pune")));
+	}
+
+	private static Map<String, Object> mapOf(String key1, Object value1, String key2, Object value2) {
+		Map<String, Object> map = new HashMap<>();
+		map.put(key1, value1);
+		map.put(key2, value2);
+		return map;
+	}
+}
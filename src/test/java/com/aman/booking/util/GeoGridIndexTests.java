@@ -0,0 +1,161 @@
+package com.aman.booking.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoGridIndexTests {
+
+	private static final String[] TAGS = { "Open", "Container", "Trailer" };
+
+	@Test
+	void radiusSearchReturnsTheSamePointsAsABruteForceScan() {
+		List<Point> points = randomPoints(new Random(17), 5_000, 5, 35, 65, 95);
+		GeoGridIndex<Integer> index = index(points, 0.5);
+
+		Random random = new Random(19);
+		for (int i = 0; i < 50; i++) {
+			double latitude = 5 + random.nextDouble() * 30;
+			double longitude = 65 + random.nextDouble() * 30;
+			double radiusKm = 10 + random.nextDouble() * 300;
+			List<Integer> expected = bruteForce(points, latitude, longitude,
+					point -> GeoGridIndex.distanceKm(latitude, longitude, point.latitude, point.longitude) <= radiusKm);
+
+			List<GeoGridIndex.Hit<Integer>> hits = index.withinRadius(latitude, longitude, radiusKm, tag -> true, Integer.MAX_VALUE);
+
+			assertThat(keys(hits)).containsExactlyInAnyOrder(expected.toArray());
+			assertThat(distances(hits)).isSorted();
+		}
+	}
+
+	@Test
+	void limitKeepsTheNearestMatchesWithTheRequestedTag() {
+		List<Point> points = randomPoints(new Random(23), 2_000, 18, 20, 72, 74);
+		GeoGridIndex<Integer> index = index(points, 0.25);
+
+		List<GeoGridIndex.Hit<Integer>> hits = index.withinRadius(19, 73, 200, "Container"::equals, 10);
+
+		List<Integer> expected = bruteForce(points, 19, 73, point -> point.tag.equals("Container")).subList(0, 10);
+		assertThat(keys(hits)).containsExactly(expected.toArray());
+	}
+
+	@Test
+	void boxSearchReturnsTheSamePointsAsABruteForceScan() {
+		List<Point> points = randomPoints(new Random(29), 5_000, -60, 60, -180, 180);
+		GeoGridIndex<Integer> index = index(points, 1);
+
+		List<GeoGridIndex.Hit<Integer>> hits = index.withinBox(-10, 20, 25, 70, 0, 40, tag -> true, Integer.MAX_VALUE);
+
+		List<Integer> expected = bruteForce(points, 0, 40, point -> point.latitude >= -10 && point.latitude <= 25
+				&& point.longitude >= 20 && point.longitude <= 70);
+		assertThat(expected).isNotEmpty();
+		assertThat(keys(hits)).containsExactlyInAnyOrder(expected.toArray());
+		assertThat(distances(hits)).isSorted();
+	}
+
+	@Test
+	void boxCrossingTheAntimeridianCoversBothSides() {
+		List<Point> points = randomPoints(new Random(31), 5_000, -60, 60, -180, 180);
+		GeoGridIndex<Integer> index = index(points, 1);
+
+		List<GeoGridIndex.Hit<Integer>> hits = index.withinBox(-20, 170, 20, -170, 0, 180, tag -> true, Integer.MAX_VALUE);
+
+		List<Integer> expected = bruteForce(points, 0, 180, point -> point.latitude >= -20 && point.latitude <= 20
+				&& (point.longitude >= 170 || point.longitude <= -170));
+		assertThat(expected).isNotEmpty();
+		assertThat(keys(hits)).containsExactlyInAnyOrder(expected.toArray());
+		assertThat(hits.stream().map(GeoGridIndex.Hit::key).map(key -> points.get(key).longitude).anyMatch(longitude -> longitude < 0)).isTrue();
+		assertThat(hits.stream().map(GeoGridIndex.Hit::key).map(key -> points.get(key).longitude).anyMatch(longitude -> longitude > 0)).isTrue();
+	}
+
+	@Test
+	void radiusSearchWrapsAroundTheAntimeridian() {
+		GeoGridIndex<String> index = new GeoGridIndex<>(0.5);
+		index.put("east", 0, 179.9, "Open");
+		index.put("west", 0, -179.9, "Open");
+		index.put("far", 0, -178, "Open");
+
+		List<GeoGridIndex.Hit<String>> hits = index.withinRadius(0, 179.95, 50, tag -> true, 10);
+
+		assertThat(hits.stream().map(GeoGridIndex.Hit::key).collect(Collectors.toList())).containsExactlyInAnyOrder("east", "west");
+	}
+
+	@Test
+	void removedAndMovedPointsAreOnlyFoundWhereTheyNowAre() {
+		GeoGridIndex<String> index = new GeoGridIndex<>(0.5);
+		index.put("moved", 19.07, 72.88, "Open");
+		index.put("removed", 19.08, 72.89, "Open");
+		index.put("kept", 19.09, 72.87, "Open");
+
+		index.put("moved", 28.61, 77.21, "Container");
+		index.remove("removed");
+		index.remove("unknown");
+
+		assertThat(index.size()).isEqualTo(2);
+		assertThat(index.withinRadius(19.07, 72.88, 20, tag -> true, 10).stream().map(GeoGridIndex.Hit::key).collect(Collectors.toList()))
+				.containsExactly("kept");
+		assertThat(index.withinRadius(28.61, 77.21, 20, "Open"::equals, 10)).isEmpty();
+		assertThat(index.withinRadius(28.61, 77.21, 20, "Container"::equals, 10).stream().map(GeoGridIndex.Hit::key).collect(Collectors.toList()))
+				.containsExactly("moved");
+
+		index.clear();
+		assertThat(index.size()).isZero();
+		assertThat(index.withinRadius(19.07, 72.88, 20, tag -> true, 10)).isEmpty();
+	}
+
+	private static GeoGridIndex<Integer> index(List<Point> points, double cellDegrees) {
+		GeoGridIndex<Integer> index = new GeoGridIndex<>(cellDegrees);
+		for (int i = 0; i < points.size(); i++) {
+			Point point = points.get(i);
+			index.put(i, point.latitude, point.longitude, point.tag);
+		}
+		return index;
+	}
+
+	private static List<Integer> bruteForce(List<Point> points, double latitude, double longitude, Predicate<Point> matches) {
+		List<Integer> keys = new ArrayList<>();
+		for (int i = 0; i < points.size(); i++) {
+			if (matches.test(points.get(i))) {
+				keys.add(i);
+			}
+		}
+		keys.sort(Comparator.comparingDouble(key -> GeoGridIndex.distanceKm(latitude, longitude, points.get(key).latitude, points.get(key).longitude)));
+		return keys;
+	}
+
+	private static List<Point> randomPoints(Random random, int size, double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+		List<Point> points = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			points.add(new Point(minLatitude + random.nextDouble() * (maxLatitude - minLatitude),
+					minLongitude + random.nextDouble() * (maxLongitude - minLongitude), TAGS[random.nextInt(TAGS.length)]));
+		}
+		return points;
+	}
+
+	private static List<Object> keys(List<? extends GeoGridIndex.Hit<?>> hits) {
+		return hits.stream().map(GeoGridIndex.Hit::key).collect(Collectors.toList());
+	}
+
+	private static List<Double> distances(List<? extends GeoGridIndex.Hit<?>> hits) {
+		return hits.stream().map(GeoGridIndex.Hit::distanceKm).collect(Collectors.toList());
+	}
+
+	private static final class Point {
+		private final double latitude;
+		private final double longitude;
+		private final String tag;
+
+		private Point(double latitude, double longitude, String tag) {
+			this.latitude = latitude;
+			this.longitude = longitude;
+			this.tag = tag;
+		}
+	}
+}
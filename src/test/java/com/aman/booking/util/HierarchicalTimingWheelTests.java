@@ -0,0 +1,44 @@
+package com.aman.booking.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTests {
+
+	@Test
+	void expiresKeysWhenTheirDeadlineIsReached() {
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 0);
+		wheel.schedule("soon", 5_000);
+		wheel.schedule("later", 10_000_000);
+
+		assertThat(wheel.advanceTo(4_999)).isEmpty();
+		assertThat(wheel.advanceTo(5_000)).containsExactly("soon");
+		assertThat(wheel.advanceTo(9_999_999)).isEmpty();
+		assertThat(wheel.advanceTo(10_000_000)).containsExactly("later");
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void cancelledAndRescheduledKeysAreNotExpiredEarly() {
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 0);
+		wheel.schedule("cancelled", 3_000);
+		wheel.schedule("moved", 3_000);
+		wheel.cancel("cancelled");
+		wheel.schedule("moved", 200_000);
+
+		assertThat(wheel.advanceTo(100_000)).isEmpty();
+		List<String> due = wheel.advanceTo(200_000);
+		assertThat(due).containsExactly("moved");
+	}
+
+	@Test
+	void rejectsDeadlinesThatHaveAlreadyPassed() {
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 50_000);
+
+		assertThat(wheel.schedule("past", 10_000)).isFalse();
+		assertThat(wheel.contains("past")).isFalse();
+	}
+}
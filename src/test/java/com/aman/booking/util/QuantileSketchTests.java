@@ -0,0 +1,145 @@
+package com.aman.booking.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class QuantileSketchTests {
+
+	private static final double ACCURACY = 0.01;
+
+	@Test
+	void quantilesAreWithinTheRelativeAccuracy() {
+		QuantileSketch sketch = new QuantileSketch(ACCURACY, 2048);
+		double[] values = logNormal(new Random(7), 20_000);
+		for (double value : values) {
+			sketch.add(value);
+		}
+
+		Arrays.sort(values);
+		for (double quantile : new double[] { 0.01, 0.25, 0.5, 0.9, 0.99, 1.0 }) {
+			double exact = values[(int) Math.ceil(quantile * values.length) - 1];
+			assertThat(sketch.quantile(quantile)).isCloseTo(exact, within(exact * ACCURACY));
+		}
+		assertThat(sketch.getCount()).isEqualTo(values.length);
+		assertThat(sketch.getMean()).isCloseTo(Arrays.stream(values).average().orElseThrow(), within(1e-6));
+	}
+
+	@Test
+	void mergedSketchesMatchASingleSketchOfAllValues() {
+		Random random = new Random(11);
+		QuantileSketch whole = new QuantileSketch(ACCURACY, 2048);
+		QuantileSketch left = new QuantileSketch(ACCURACY, 2048);
+		QuantileSketch right = new QuantileSketch(ACCURACY, 2048);
+		for (double value : logNormal(random, 5_000)) {
+			whole.add(value);
+			left.add(value);
+		}
+		for (double value : logNormal(random, 5_000)) {
+			whole.add(value * 10);
+			right.add(value * 10);
+		}
+
+		QuantileSketch merged = new QuantileSketch(ACCURACY, 2048);
+		merged.merge(left);
+		merged.merge(right);
+
+		assertThat(merged.getCount()).isEqualTo(whole.getCount());
+		assertThat(merged.getMean()).isCloseTo(whole.getMean(), within(1e-6));
+		for (double quantile : new double[] { 0.1, 0.5, 0.9, 0.99 }) {
+			assertThat(merged.quantile(quantile)).isEqualTo(whole.quantile(quantile));
+		}
+	}
+
+	@Test
+	void removingValuesRestoresTheEarlierQuantiles() {
+		QuantileSketch sketch = new QuantileSketch(ACCURACY, 2048);
+		for (double value : logNormal(new Random(3), 1_000)) {
+			sketch.add(value);
+		}
+		QuantileSketch before = sketch.copy();
+
+		double[] repriced = logNormal(new Random(5), 200);
+		for (double value : repriced) {
+			sketch.add(value * 100);
+		}
+		for (double value : repriced) {
+			assertThat(sketch.remove(value * 100)).isTrue();
+		}
+
+		assertThat(sketch.getCount()).isEqualTo(before.getCount());
+		for (double quantile : new double[] { 0.1, 0.5, 0.9 }) {
+			assertThat(sketch.quantile(quantile)).isEqualTo(before.quantile(quantile));
+		}
+	}
+
+	@Test
+	void removingAValueThatWasNeverAddedLeavesTheSketchUnchanged() {
+		QuantileSketch sketch = new QuantileSketch(ACCURACY, 64);
+		sketch.add(100);
+		sketch.add(200);
+
+		assertThat(sketch.remove(150)).isFalse();
+		assertThat(sketch.remove(1_000_000)).isFalse();
+		assertThat(sketch.remove(0.001)).isFalse();
+		assertThat(sketch.getCount()).isEqualTo(2);
+		assertThat(sketch.getMean()).isEqualTo(150.0);
+	}
+
+	@Test
+	void valuesFoldedIntoTheLowestBinCanBeRemovedAfterTheRangeMoves() {
+		QuantileSketch sketch = new QuantileSketch(ACCURACY, 64);
+		sketch.add(1000);
+		// far below the range, so folded into the lowest bin
+		sketch.add(1);
+		// just below the range, which would otherwise have grown the range down over the folded value
+		sketch.add(990);
+
+		assertThat(sketch.remove(1)).isTrue();
+		assertThat(sketch.remove(990)).isTrue();
+		assertThat(sketch.quantile(0.5)).isCloseTo(1000, within(1000 * ACCURACY));
+
+		sketch.add(1);
+		// far above, which collapses the lowest bins
+		sketch.add(5000);
+		assertThat(sketch.remove(1)).isTrue();
+		assertThat(sketch.remove(1000)).isTrue();
+		assertThat(sketch.remove(1)).isFalse();
+		assertThat(sketch.getCount()).isEqualTo(1);
+		assertThat(sketch.quantile(0.5)).isCloseTo(5000, within(5000 * ACCURACY));
+		assertThat(sketch.getMean()).isCloseTo(5000, within(1e-6));
+	}
+
+	@Test
+	void randomAddsAndRemovesKeepCountsConsistentWithBoundedBins() {
+		Random random = new Random(13);
+		QuantileSketch sketch = new QuantileSketch(ACCURACY, 32);
+		double[] values = new double[2_000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = Math.exp(random.nextGaussian() * 3);
+			sketch.add(values[i]);
+		}
+		for (int i = 0; i < values.length; i += 2) {
+			assertThat(sketch.remove(values[i])).isTrue();
+		}
+
+		assertThat(sketch.getCount()).isEqualTo(values.length / 2);
+		for (int i = 1; i < values.length; i += 2) {
+			assertThat(sketch.remove(values[i])).isTrue();
+		}
+		assertThat(sketch.getCount()).isZero();
+		assertThat(sketch.remove(values[0])).isFalse();
+	}
+
+	private static double[] logNormal(Random random, int size) {
+		double[] values = new double[size];
+		for (int i = 0; i < size; i++) {
+			values[i] = Math.exp(4 + random.nextGaussian());
+		}
+		return values;
+	}
+}